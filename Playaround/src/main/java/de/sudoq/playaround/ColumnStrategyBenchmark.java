@@ -0,0 +1,81 @@
+package de.sudoq.playaround;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.sudoq.model.files.FileManager;
+import de.sudoq.model.solverGenerator.FastSolver.AmbiguityResult;
+import de.sudoq.model.solverGenerator.FastSolver.DLX1.ArrayDLXSolver;
+import de.sudoq.model.solverGenerator.FastSolver.DLX1.ColumnStrategy;
+import de.sudoq.model.solverGenerator.FastSolver.FastSolver;
+import de.sudoq.model.solverGenerator.FastSolver.SearchBudget;
+import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.complexity.Complexity;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTypes;
+
+/**
+ * Compares the column strategies of the DLX search on the sudokus of the assets, through the FastSolver interface.
+ * usage: ColumnStrategyBenchmark [sudoku dir] [profile dir] [sudokus per type and complexity] [rounds]
+ */
+public class ColumnStrategyBenchmark {
+
+    static String SUDOKU_LOCATION  = "/home/t/Code/SudoQ/sudoq-app/sudoqapp/src/main/assets/sudokus/";
+    static String PROFILE_LOCATION = "/home/t/Code/SudoQ/DebugOnPC/profilefiles";
+
+    /* searches exceeding this are counted as aborted, the naive strategy can take very long */
+    private static final long NODES = 2000000;
+
+    public static void main(String[] args) {
+        String sudokus  = args.length > 0 ? args[0] : SUDOKU_LOCATION;
+        String profiles = args.length > 1 ? args[1] : PROFILE_LOCATION;
+        int perFolder   = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int rounds      = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        FileManager.initialize(new File(profiles), new File(sudokus));
+
+        for (SudokuTypes st : SudokuTypes.values()) {
+            List<Sudoku> list = load(new File(sudokus), st, perFolder);
+            if (list.isEmpty())
+                continue;
+
+            StringBuilder line = new StringBuilder(String.format("%-14s %3d sudokus", st, list.size()));
+            for (ColumnStrategy strategy : ColumnStrategy.values()) {
+                run(list, strategy, 1); //warm up
+                long start = System.nanoTime();
+                int aborted = 0;
+                for (int r = 0; r < rounds; r++)
+                    aborted = run(list, strategy, rounds);
+                double ms = (System.nanoTime() - start) / 1e6 / rounds;
+                line.append(String.format("   %s %8.1f ms", strategy, ms));
+                if (aborted > 0)
+                    line.append(" (").append(aborted).append(" aborted)");
+            }
+            System.out.println(line);
+        }
+    }
+
+    /* checks every sudoku for ambiguity, returns the number of checks that ran out of nodes */
+    private static int run(List<Sudoku> list, ColumnStrategy strategy, long seed) {
+        Random random = new Random(seed);
+        int aborted = 0;
+        for (Sudoku s : list) {
+            FastSolver fs = new ArrayDLXSolver(s, strategy, strategy == ColumnStrategy.RANDOMIZED_MRV ? random : null);
+            AmbiguityResult r = fs.checkAmbiguity(new SearchBudget(NODES));
+            if (r == AmbiguityResult.UNKNOWN)
+                aborted++;
+            else if (r != AmbiguityResult.UNIQUE)
+                throw new IllegalStateException(strategy + " says " + r + " for an asset sudoku");
+        }
+        return aborted;
+    }
+
+    private static List<Sudoku> load(File dir, SudokuTypes st, int perFolder) {
+        List<Sudoku> list = new ArrayList<>();
+        for (Complexity c : Complexity.playableValues())
+            for (int i = 1; i <= perFolder; i++)
+                if (new File(dir, st + File.separator + c + File.separator + "sudoku_" + i + ".xml").isFile())
+                    list.add(Files.getSudoku(dir, st, c, i));
+        return list;
+    }
+}
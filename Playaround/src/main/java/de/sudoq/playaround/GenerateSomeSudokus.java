@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Random;
 
 import de.sudoq.model.files.FileManager;
+import de.sudoq.model.solverGenerator.BatchGenerator;
 import de.sudoq.model.solverGenerator.GenerationAlgo;
 import de.sudoq.model.solverGenerator.solver.Solver;
 import de.sudoq.model.sudoku.Sudoku;
@@ -64,6 +65,19 @@ public class GenerateSomeSudokus {
         }
     }
 
+    /* generates on all cores, prints throughput. The last sudoku that finished is kept */
+    public void generateParallel(Complexity c, SudokuTypes st, int numberOfGenerated, long seed) throws InterruptedException {
+        BatchGenerator bg = new BatchGenerator();
+        BatchGenerator.Statistics stats = bg.generate(st, c, numberOfGenerated, seed, new BatchGenerator.Sink() {
+            @Override
+            public void accept(Sudoku sudoku, int index) {
+                GenerateSomeSudokus.sudoku = sudoku;
+            }
+        });
+        bg.shutdown();
+        System.out.println(stats);
+    }
+
     public void generate(Complexity c, SudokuTypes st){
         Sudoku sudoku = new SudokuBuilder(st).createSudoku();
 		sudoku.setComplexity(c);
@@ -0,0 +1,103 @@
+package de.sudoq.playaround;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import de.sudoq.model.files.FileManager;
+import de.sudoq.model.solverGenerator.GenerationAlgo;
+import de.sudoq.model.solverGenerator.FastSolver.DLX1.RandomGridGenerator;
+import de.sudoq.model.sudoku.Position;
+import de.sudoq.model.sudoku.PositionMap;
+import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.SudokuBuilder;
+import de.sudoq.model.sudoku.complexity.Complexity;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuType;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTypes;
+
+/**
+ * Compares the time to find a complete grid: randomized DLX search vs. defining random cells until they have a solution.
+ * usage: GridBenchmark [sudoku dir] [profile dir] [grids per type] [seed] [types...]
+ * The old loop can take minutes per grid for samurai, so the types can be restricted.
+ */
+public class GridBenchmark {
+
+    static String SUDOKU_LOCATION  = "/home/t/Code/SudoQ/sudoq-app/sudoqapp/src/main/assets/sudokus/";
+    static String PROFILE_LOCATION = "/home/t/Code/SudoQ/DebugOnPC/profilefiles";
+
+    public static void main(String[] args) {
+        String sudokus  = args.length > 0 ? args[0] : SUDOKU_LOCATION;
+        String profiles = args.length > 1 ? args[1] : PROFILE_LOCATION;
+        int grids       = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        long seed       = args.length > 3 ? Long.parseLong(args[3]) : 0;
+        FileManager.initialize(new File(profiles), new File(sudokus));
+
+        List<SudokuTypes> types = new ArrayList<>();
+        for (int i = 4; i < args.length; i++) {
+            types.add(SudokuTypes.valueOf(args[i]));
+        }
+        if (types.isEmpty()) {
+            types.addAll(Arrays.asList(SudokuTypes.values()));
+        }
+
+        for (SudokuTypes st : types) {
+            SudokuType type = SudokuType.getSudokuType(st);
+            if (!type.getExactCover().isExact()) {
+                System.out.println(st + ": no exact cover, skipped");
+                continue;
+            }
+
+            //warm up
+            timeDLX(type, 3, seed);
+            timeClues(st, 3, seed);
+
+            double dlx   = timeDLX(type, grids, seed);
+            double clues = timeClues(st, grids, seed);
+            System.out.printf("%-16s dlx %8.2f ms/grid   clues %8.2f ms/grid%n", st, dlx, clues);
+        }
+    }
+
+    /* ms per grid of the randomized DLX search */
+    private static double timeDLX(SudokuType type, int grids, long seed) {
+        long start = System.nanoTime();
+        for (int i = 0; i < grids; i++) {
+            PositionMap<Integer> grid = RandomGridGenerator.createGrid(type, seed + i);
+            check(type, grid);
+        }
+        return (System.nanoTime() - start) / 1e6 / grids;
+    }
+
+    /* ms per grid of the loop that defines random cells and retries until they have a solution */
+    private static double timeClues(SudokuTypes st, int grids, long seed) {
+        long start = System.nanoTime();
+        for (int i = 0; i < grids; i++) {
+            Sudoku sudoku = new SudokuBuilder(st).createSudoku();
+            sudoku.setComplexity(Complexity.medium);
+            PositionMap<Integer> grid = new CluesPattern(sudoku, new Random(seed + i)).find();
+            check(sudoku.getSudokuType(), grid);
+        }
+        return (System.nanoTime() - start) / 1e6 / grids;
+    }
+
+    private static void check(SudokuType type, PositionMap<Integer> grid) {
+        for (Position p : type.getValidPositions()) {
+            if (grid == null || grid.get(p) == null) {
+                throw new IllegalStateException("grid is incomplete at " + p);
+            }
+        }
+    }
+
+    /* gives access to the old pattern loop of the generator */
+    private static class CluesPattern extends GenerationAlgo {
+
+        CluesPattern(Sudoku sudoku, Random random) {
+            super(sudoku, null, random);
+        }
+
+        PositionMap<Integer> find() {
+            return findSolutionByClues();
+        }
+    }
+}
@@ -76,6 +76,11 @@ public class HintFormulator
 				text = xWing(context, sd);
 				break;
 			
+			case Swordfish:
+			case Jellyfish:
+				text = fish(context, sd);
+				break;
+			
 			case NoNotes:
 				text = context.getString(R.string.hint_backtracking);
 				text += context.getString(R.string.hint_fill_out_notes);
@@ -235,4 +240,9 @@ public class HintFormulator
 		//int note = ((XWingDerivation) sd).getNote();
 		return context.getString(R.string.hint_xWing);
 	}
+	
+	private static String fish(Context context, SolveDerivation sd)
+	{
+		return context.getString(R.string.hint_fish).replace("{fish}", sd.getType().toString());
+	}
 }
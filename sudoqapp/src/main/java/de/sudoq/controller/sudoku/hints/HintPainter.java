@@ -89,6 +89,8 @@ public class HintPainter
 				break;
 			
 			case XWing:
+			case Swordfish:
+			case Jellyfish:
 				v = new XWingView(context, sl, (XWingDerivation) sd);
 				break;
 			
@@ -15,7 +15,7 @@ import android.util.Log;
 import android.view.MotionEvent;
 import android.widget.RelativeLayout;
 
-import java.util.ArrayList;
+import java.util.List;
 
 import de.sudoq.controller.sudoku.board.BoardPainter;
 import de.sudoq.controller.sudoku.CellInteractionListener;
@@ -160,7 +160,7 @@ public class SudokuLayout extends RelativeLayout implements ObservableCellIntera
 		// In case highlighting of current row and col is activated, pass each pos its constraint-mates
 		if(this.game.isAssistanceAvailable(Assistances.markRowColumn))
 		{
-			ArrayList<Position> positions;
+			List<Position> positions;
 			Iterable<Constraint> allConstraints = this.game.getSudoku().getSudokuType();
 			for(Constraint c : allConstraints)
 				if(c.getType().equals(ConstraintType.LINE))
@@ -15,6 +15,7 @@ import java.util.Random;
 
 import de.sudoq.model.sudoku.Sudoku;
 import de.sudoq.model.sudoku.complexity.Complexity;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTypeRegistry;
 import de.sudoq.model.sudoku.sudokuTypes.SudokuTypes;
 import de.sudoq.model.xml.XmlHelper;
 import de.sudoq.model.xml.XmlTree;
@@ -73,6 +74,10 @@ public final class FileManager
 			throw new IllegalArgumentException("invalid directories:" + err);
 		}
 		profiles = p;
+		if(!s.equals(sudokus))
+		{
+			SudokuTypeRegistry.invalidate(); //types are read from the sudoku directory
+		}
 		sudokus = s;
 		
 		//initSudokuDirectories();
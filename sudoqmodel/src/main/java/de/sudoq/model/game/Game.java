@@ -18,10 +18,10 @@ import de.sudoq.model.actionTree.NoteActionFactory;
 import de.sudoq.model.actionTree.SolveAction;
 import de.sudoq.model.actionTree.SolveActionFactory;
 import de.sudoq.model.sudoku.Cell;
-import de.sudoq.model.sudoku.Constraint;
 import de.sudoq.model.sudoku.Position;
 import de.sudoq.model.sudoku.Sudoku;
 import de.sudoq.model.sudoku.SudokuManager;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTopology;
 import de.sudoq.model.xml.XmlAttribute;
 import de.sudoq.model.xml.XmlTree;
 import de.sudoq.model.xml.Xmlable;
@@ -267,22 +267,16 @@ public class Game implements Xmlable
 		
 		Position editedPos = sudoku.getPosition(cell.getId());
 		int value = cell.getCurrentValue();
-
-        /*this.sudoku.getSudokuType().getConstraints().stream().filter(c -> c.includes(editedPos))
-                                                             .flatMap(c -> c.getPositions().stream())
-                                                             .filter(changePos -> this.sudoku.getField(changePos).isNoteSet(value))
-                                                             .forEachOrdered(changePos -> this.addAndExecute(new NoteActionFactory().createAction(value, this.sudoku.getField(changePos))));
-        should work, but to tired to try*/
-		for(Constraint c : this.sudoku.getSudokuType())
+		
+		SudokuTopology topology = this.sudoku.getSudokuType().getTopology();
+		for(int c : topology.getConstraintsOfCell(topology.getCellIndex(editedPos)))
 		{
-			if(c.includes(editedPos))
+			for(int changeCell : topology.getCellsOfConstraint(c))
 			{
-				for(Position changePos : c)
+				Cell changeField = this.sudoku.getCell(topology.getPosition(changeCell));
+				if(changeField.isNoteSet(value))
 				{
-					if(this.sudoku.getCell(changePos).isNoteSet(value))
-					{
-						this.addAndExecute(new NoteActionFactory().createAction(value, this.sudoku.getCell(changePos)));
-					}
+					this.addAndExecute(new NoteActionFactory().createAction(value, changeField));
 				}
 			}
 		}
@@ -1,33 +1,37 @@
 package de.sudoq.model.solverGenerator;
 
-import de.sudoq.model.solverGenerator.solver.Solver;
+import de.sudoq.model.solverGenerator.FastSolver.PropagationSolver;
 import de.sudoq.model.sudoku.Position;
 import de.sudoq.model.sudoku.Sudoku;
 
+/**
+ * Not thread safe, every thread needs its own instance.
+ */
 public class AmbiguityChecker
 {
-	private static Position FirstBranchPosition;
+	private Position firstBranchPosition;
 	
 	/**
 	 * Determines whether there are multiple solutions to the passed sudoku.
+	 * Only propagation and search are used (see {@link PropagationSolver}), no grading takes place.
 	 * @param sudoku Sudoku object to be tested for multiple solutions
 	 * @return true if there are several solutions false otherwise
 	 */
-	public static boolean isAmbiguous(Sudoku sudoku)
+	public boolean isAmbiguous(Sudoku sudoku)
 	{
-		Solver solver = new Solver(sudoku);
-		boolean result = solver.solveAll(false, false, false);
-		FirstBranchPosition = solver.getSolverSudoku().hasBranch() ? solver.getSolverSudoku().getFirstBranchPosition() : null; //lest old values persist
-		return result && solver.severalSolutionsExist();
+		PropagationSolver solver = new PropagationSolver(sudoku);
+		boolean result = solver.isAmbiguous();
+		firstBranchPosition = result ? solver.getAmbiguousPos() : null; //lest old values persist
+		return result;
 	}
 	
 	/**
-	 * If there are several solutions, this method holds the position of the first branch point.
+	 * If there are several solutions, this method holds a position in which two of the solutions differ.
 	 * Call only after an `isAmbiguous` call that returned `true`. Otherwise it is null.
-	 * @return position of the first branchingPoint, i.e. where backtracking was first applied or `null` if last call to `isAmbiguous` was unsuccessful.
+	 * @return position where two solutions differ or `null` if last call to `isAmbiguous` was unsuccessful.
 	 */
-	public static Position getFirstBranchPosition()
+	public Position getFirstBranchPosition()
 	{
-		return FirstBranchPosition;
+		return firstBranchPosition;
 	}
 }
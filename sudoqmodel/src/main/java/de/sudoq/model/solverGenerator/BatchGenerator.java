@@ -0,0 +1,230 @@
+/*
+ * SudoQ is a Sudoku-App for Adroid Devices with Version 2.2 at least.
+ * Copyright (C) 2012  Heiko Klare, Julian Geppert, Jan-Bernhard Kordaß, Jonathan Kieling, Tim Zeitz, Timo Abele
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation; either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.sudoq.model.solverGenerator;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.sudoq.model.solverGenerator.solution.Solution;
+import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.SudokuBuilder;
+import de.sudoq.model.sudoku.complexity.Complexity;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTypes;
+
+/**
+ * Generiert viele Sudokus auf einmal, z.B. um den Vorrat an Sudokus offline aufzufüllen.
+ * Die Generierung läuft auf einem Threadpool fester Größe, jedes Sudoku wird von einem eigenen
+ * {@link GenerationAlgo} erzeugt.
+ *
+ * Jedes Sudoku bekommt ein eigenes Random-Objekt, dessen Seed vorab aus dem Seed des Auftrags gezogen wird.
+ * Das i-te Sudoku eines Auftrags ist deshalb unabhängig von der Anzahl der Threads und der Reihenfolge,
+ * in der die Sudokus fertig werden, reproduzierbar.
+ */
+public class BatchGenerator
+{
+	/**
+	 * Empfängt die fertigen Sudokus. Wird nur aus dem Thread aufgerufen, der
+	 * {@link #generate(SudokuTypes, Complexity, int, long, Sink)} aufgerufen hat, muss also nicht threadsicher sein.
+	 */
+	public interface Sink
+	{
+		/**
+		 * @param sudoku das generierte Sudoku
+		 * @param index die Nummer des Sudokus innerhalb des Auftrags, die Sudokus kommen in der Reihenfolge an, in der
+		 *            sie fertig werden
+		 */
+		void accept(Sudoku sudoku, int index);
+	}
+	
+	/**
+	 * Kennzahlen eines Auftrags.
+	 */
+	public static class Statistics
+	{
+		private final int generated;
+		private final long rejected;
+		private final long nanos;
+		
+		Statistics(int generated, long rejected, long nanos)
+		{
+			this.generated = generated;
+			this.rejected = rejected;
+			this.nanos = nanos;
+		}
+		
+		/** @return die Anzahl generierter Sudokus */
+		public int getGenerated()
+		{
+			return generated;
+		}
+		
+		/** @return die Anzahl der während der Generierung verworfenen Kandidaten, siehe {@link GenerationAlgo#getRejectedCandidates()} */
+		public long getRejectedCandidates()
+		{
+			return rejected;
+		}
+		
+		/** @return die Dauer des Auftrags in Millisekunden */
+		public long getMillis()
+		{
+			return nanos / 1000000;
+		}
+		
+		/** @return generierte Sudokus pro Sekunde */
+		public double getSudokusPerSecond()
+		{
+			return nanos == 0 ? 0 : generated * 1e9 / nanos;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return String.format("%d sudokus in %d ms (%.2f/s), %d rejected candidates",
+			                     generated, getMillis(), getSudokusPerSecond(), rejected);
+		}
+	}
+	
+	/* result of a single task */
+	private static class Result
+	{
+		int index;
+		Sudoku sudoku;
+		int rejected;
+	}
+	
+	private final ExecutorService pool;
+	
+	/**
+	 * Erzeugt einen BatchGenerator mit einem Thread pro Prozessorkern.
+	 */
+	public BatchGenerator()
+	{
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * @param threads Anzahl der Threads, mindestens 1
+	 */
+	public BatchGenerator(int threads)
+	{
+		if(threads < 1)
+		{
+			throw new IllegalArgumentException("at least one thread is needed");
+		}
+		pool = Executors.newFixedThreadPool(threads);
+	}
+	
+	/**
+	 * Generiert count Sudokus des spezifizierten Typs und der spezifizierten Schwierigkeit und übergibt sie der Senke,
+	 * sobald sie fertig sind. Blockiert, bis alle Sudokus generiert wurden.
+	 *
+	 * @param type der Typ der Sudokus
+	 * @param complexity die Schwierigkeit der Sudokus
+	 * @param count die Anzahl zu generierender Sudokus
+	 * @param seed der Seed, aus dem die Random-Objekte der einzelnen Sudokus abgeleitet werden
+	 * @param sink Empfänger der Sudokus
+	 * @return Kennzahlen des Auftrags
+	 * @throws InterruptedException falls der aufrufende Thread unterbrochen wurde, noch nicht begonnene Generierungen
+	 *             werden dann verworfen
+	 */
+	public Statistics generate(SudokuTypes type, Complexity complexity, int count, long seed, Sink sink)
+			throws InterruptedException
+	{
+		if(type == null || complexity == null || sink == null || count < 0)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		long start = System.nanoTime();
+		CompletionService<Result> service = new ExecutorCompletionService<>(pool);
+		Future<?>[] futures = new Future<?>[count];
+		Random seeds = new Random(seed);
+		for(int i = 0; i < count; i++)
+		{
+			futures[i] = service.submit(new Task(type, complexity, i, seeds.nextLong()));
+		}
+		
+		long rejected = 0;
+		try
+		{
+			for(int i = 0; i < count; i++)
+			{
+				Result r = service.take().get();
+				rejected += r.rejected;
+				sink.accept(r.sudoku, r.index);
+			}
+		}
+		catch(ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+		}
+		finally
+		{
+			for(Future<?> f : futures)
+			{
+				f.cancel(true); //no effect on finished tasks
+			}
+		}
+		return new Statistics(count, rejected, System.nanoTime() - start);
+	}
+	
+	/**
+	 * Beendet die Threads des Pools, nachdem laufende Aufträge abgeschlossen sind.
+	 */
+	public void shutdown()
+	{
+		pool.shutdown();
+	}
+	
+	private static class Task implements Callable<Result>, GeneratorCallback
+	{
+		private final SudokuTypes type;
+		private final Complexity complexity;
+		private final Result result = new Result();
+		private final long seed;
+		
+		Task(SudokuTypes type, Complexity complexity, int index, long seed)
+		{
+			this.type = type;
+			this.complexity = complexity;
+			this.seed = seed;
+			result.index = index;
+		}
+		
+		@Override
+		public Result call()
+		{
+			Sudoku sudoku = new SudokuBuilder(type).createSudoku();
+			sudoku.setComplexity(complexity);
+			GenerationAlgo algo = new GenerationAlgo(sudoku, this, new Random(seed));
+			algo.run();
+			result.rejected = algo.getRejectedCandidates();
+			return result;
+		}
+		
+		@Override
+		public void generationFinished(Sudoku sudoku)
+		{
+			result.sudoku = sudoku;
+		}
+		
+		@Override
+		public void generationFinished(Sudoku sudoku, List<Solution> s)
+		{
+			result.sudoku = sudoku;
+		}
+	}
+}
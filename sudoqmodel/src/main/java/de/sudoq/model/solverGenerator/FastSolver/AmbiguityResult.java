@@ -0,0 +1,19 @@
+package de.sudoq.model.solverGenerator.FastSolver;
+
+/**
+ * Outcome of {@link FastSolver#checkAmbiguity(SearchBudget)}.
+ */
+public enum AmbiguityResult
+{
+	/** exactly one solution */
+	UNIQUE,
+	
+	/** at least two solutions, {@link FastSolver#getAmbiguousPos()} is defined */
+	AMBIGUOUS,
+	
+	/** no solution at all */
+	NO_SOLUTION,
+	
+	/** the budget ran out before the search space was exhausted, nothing can be said about uniqueness */
+	UNKNOWN
+}
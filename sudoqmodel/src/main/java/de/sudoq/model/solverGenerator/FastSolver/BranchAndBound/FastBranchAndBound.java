@@ -1,18 +1,23 @@
 package de.sudoq.model.solverGenerator.FastSolver.BranchAndBound;
 
-import java.util.BitSet;
+import java.util.Iterator;
 import java.util.List;
 
 import de.sudoq.model.solverGenerator.solver.ComplexityRelation;
 import de.sudoq.model.solverGenerator.solver.Solver;
 import de.sudoq.model.solverGenerator.solver.helper.Backtracking;
+import de.sudoq.model.solverGenerator.solver.helper.LockedCandandidatesHelper;
 import de.sudoq.model.solverGenerator.solver.helper.SolveHelper;
-import de.sudoq.model.sudoku.Position;
 import de.sudoq.model.sudoku.Sudoku;
 import de.sudoq.model.sudoku.complexity.ComplexityConstraint;
 
 public class FastBranchAndBound extends Solver
 {
+	/**
+	 * Anteil der zu Beginn des letzten validate-Aufrufs ungelösten Felder, die bei dessen Ende gelöst waren
+	 */
+	private double progress;
+	
 	/**
 	 * Creates a new solver for {@code sudoku}.
 	 * If the argument is null, a IllegalArgumentException is thrown.
@@ -29,8 +34,16 @@ public class FastBranchAndBound extends Solver
 	protected List<SolveHelper> makeHelperList()
 	{
 		List<SolveHelper> helpers = super.makeHelperList();
-		helpers.remove(helpers.size() - 3); //remove LockedCandidateHelper
-		helpers.remove(helpers.size() - 2); //remove XWing
+		//remove LockedCandidateHelper. XWing used to be removed as well, now all fish stay: every fish found saves a
+		//branch point, but the grading differs from the time without XWing
+		for(Iterator<SolveHelper> it = helpers.iterator(); it.hasNext(); )
+		{
+			SolveHelper h = it.next();
+			if(h instanceof LockedCandandidatesHelper)
+			{
+				it.remove();
+			}
+		}
 		return helpers;
 	}
 	
@@ -176,26 +189,22 @@ public class FastBranchAndBound extends Solver
 	
 	protected boolean updateNakedSingles()
 	{
-		boolean hasNakedSingle; //indicates that one was found in the last iteration -> continue to iterate
 		boolean foundNakedSingle = false; //indicates that at least one was found
-		// Iterate trough the fields to look if each field has only one
-		// candidate left = solved
-		do
+		// Take the fields with only one candidate left in the order of a repeated scan over all fields
+		int cell = this.sudoku.nextNakedSingle(0);
+		while(cell >= 0)
 		{
-			hasNakedSingle = false;
-			for(Position p : this.sudoku.getPositions())
+			int b = this.sudoku.getCandidateMask(cell);
+			sudoku.setSolution(this.sudoku.getPosition(cell), Integer.numberOfTrailingZeros(b));//execute, since only one candidate, take first
+			foundNakedSingle = true;
+			this.sudoku.addComplexityValue(10, true);
+			
+			cell = this.sudoku.nextNakedSingle(cell + 1);
+			if(cell < 0)
 			{
-				BitSet b = this.sudoku.getCurrentCandidates(p);
-				if(b.cardinality() == 1)
-				{
-					sudoku.setSolution(p, b.nextSetBit(0));//execute, since only one candidate, take first
-					hasNakedSingle = true;
-					foundNakedSingle = true;
-					this.sudoku.addComplexityValue(10, true);
-				}
+				cell = this.sudoku.nextNakedSingle(0);
 			}
 		}
-		while(hasNakedSingle);
 		
 		return foundNakedSingle;
 	}
@@ -211,16 +220,46 @@ public class FastBranchAndBound extends Solver
 	 * Assumptions:
 	 *   - the sudoku has a solution
 	 *
+	 * Die Lösung wird abgebrochen, sobald die Schwierigkeit die Grenze zu MUCH_TOO_DIFFICULT überschreitet, siehe
+	 * {@link #validate(double)}.
+	 *
 	 * @return Ein ComplexityRelation-Objekt, welches die Constraint-gemäße Lösbarkeit beschreibt
 	 */
 	public ComplexityRelation validate()
+	{
+		return validate(getScoreBudget(complConstr));
+	}
+	
+	/**
+	 * Gibt die Schwierigkeit zurück, ab der ein Sudoku für den spezifizierten ComplexityConstraint als
+	 * MUCH_TOO_DIFFICULT gilt.
+	 *
+	 * @param complConstr der ComplexityConstraint der gewünschten Schwierigkeit
+	 * @return das 1.2-fache der maximalen Schwierigkeit
+	 */
+	public static double getScoreBudget(ComplexityConstraint complConstr)
+	{
+		return complConstr.getMaxComplexityIdentifier() * 1.2;
+	}
+	
+	/**
+	 * Wie {@link #validate()}, gibt aber MUCH_TOO_DIFFICULT zurück, sobald die Schwierigkeit außerhalb der offenen
+	 * Branches (siehe {@link de.sudoq.model.solverGenerator.solver.SolverSudoku#getCommittedComplexityValue()}) das
+	 * Budget überschreitet. Da Backtracking diesen Anteil nicht mehr abziehen kann, ändert der Abbruch das Ergebnis
+	 * nicht, solange das Budget mindestens {@link #getScoreBudget(ComplexityConstraint)} ist. Wie weit die Lösung
+	 * gekommen ist, liefert anschließend {@link #getProgress()}.
+	 *
+	 * @param scoreBudget die Schwierigkeit, ab der die Lösung abgebrochen wird
+	 * @return Ein ComplexityRelation-Objekt, welches die Constraint-gemäße Lösbarkeit beschreibt
+	 */
+	public ComplexityRelation validate(double scoreBudget)
 	{
 		ComplexityRelation result = ComplexityRelation.INVALID;
 		
 		boolean solved = false;
-		ComplexityConstraint complConstr = sudoku.getSudokuType().buildComplexityConstraint(sudoku.getComplexity());
 		
 		this.sudoku.resetCandidates();
+		int unsolvedAtStart = this.sudoku.getNumberOfUnsolvedCells();
 		
 		numberOfHelpers = this.helper.size();
 		
@@ -246,6 +285,7 @@ public class FastBranchAndBound extends Solver
 					didUpdate = true;
 					if(sudoku.getBranchLevel() > 10) // we don't want to generate sudokus where it is necessary to backtrack more than 10 times
 					{
+						recordProgress(unsolvedAtStart);
 						return ComplexityRelation.MUCH_TOO_DIFFICULT; // so we can stop here.
 					}
 				}
@@ -267,6 +307,13 @@ public class FastBranchAndBound extends Solver
 				didUpdate = true;
 			}
 			
+			// the committed score can only grow, so once it exceeds the budget the final score will as well
+			if(this.sudoku.getCommittedComplexityValue() > scoreBudget)
+			{
+				recordProgress(unsolvedAtStart);
+				return ComplexityRelation.MUCH_TOO_DIFFICULT;
+			}
+			
 			solver_counter++;
 			
 			// UNCOMMENT THE FOLLOWING TO PRINT THE WHOLE SUDOKU AFTER EACH LOOP
@@ -278,6 +325,7 @@ public class FastBranchAndBound extends Solver
 		
 		///////////////////////////s
 		
+		recordProgress(unsolvedAtStart);
 		int complexity = this.sudoku.getComplexityValue();
 		//System.out.println("cmplx: "+complexity);
 		// depending on the result, return an int
@@ -286,7 +334,7 @@ public class FastBranchAndBound extends Solver
 		
 		if(solved)
 		{
-			if(maxComplextiy * 1.2 < complexity)
+			if(maxComplextiy * 1.2 < complexity || scoreBudget < complexity)
 			{
 				result = ComplexityRelation.MUCH_TOO_DIFFICULT;
 			}
@@ -312,4 +360,20 @@ public class FastBranchAndBound extends Solver
 		
 		return result;
 	}
+	
+	private void recordProgress(int unsolvedAtStart)
+	{
+		progress = unsolvedAtStart == 0 ? 1 : 1 - (double) this.sudoku.getNumberOfUnsolvedCells() / unsolvedAtStart;
+	}
+	
+	/**
+	 * Gibt zurück, wie weit der letzte Aufruf von {@link #validate(double)} das Sudoku gelöst hat, bevor er das
+	 * Ergebnis feststellen konnte.
+	 *
+	 * @return der Anteil der anfangs leeren Felder, die am Ende gelöst waren, zwischen 0 und 1
+	 */
+	public double getProgress()
+	{
+		return progress;
+	}
 }
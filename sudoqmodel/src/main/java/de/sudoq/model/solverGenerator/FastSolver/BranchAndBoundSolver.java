@@ -9,6 +9,8 @@ public class BranchAndBoundSolver implements FastSolver
 {
 	private final Sudoku s;
 	
+	private final FastAmbiguityChecker ambiguityChecker = new FastAmbiguityChecker();
+	
 	public BranchAndBoundSolver(Sudoku s)
 	{
 		this.s = s;
@@ -36,13 +38,41 @@ public class BranchAndBoundSolver implements FastSolver
 	public boolean isAmbiguous()
 	{
 		//return AmbiguityChecker.isAmbiguous(s);
-		return FastAmbiguityChecker.isAmbiguous2(s);
+		return ambiguityChecker.isAmbiguous2(s);
+	}
+	
+	/**
+	 * Branch and bound can't be interrupted, the budget is ignored.
+	 */
+	@Override
+	public AmbiguityResult checkAmbiguity(SearchBudget budget)
+	{
+		if(isAmbiguous())
+		{
+			return AmbiguityResult.AMBIGUOUS;
+		}
+		return hasSolution() ? AmbiguityResult.UNIQUE : AmbiguityResult.NO_SOLUTION;
 	}
 	
 	@Override
 	public Position getAmbiguousPos()
 	{
 		//return AmbiguityChecker.getFirstBranchPosition();
-		return FastAmbiguityChecker.getFirstBranchPosition();
+		return ambiguityChecker.getFirstBranchPosition();
+	}
+	
+	/**
+	 * Branch and bound stops at the second solution, counting is left to the solver of {@link FastSolverFactory}.
+	 */
+	@Override
+	public int countSolutions(int limit)
+	{
+		return FastSolverFactory.getSolver(s).countSolutions(limit);
+	}
+	
+	@Override
+	public int enumerateSolutions(int limit, SolutionCallback callback)
+	{
+		return FastSolverFactory.getSolver(s).enumerateSolutions(limit, callback);
 	}
 }
@@ -0,0 +1,19 @@
+package de.sudoq.model.solverGenerator.FastSolver;
+
+/**
+ * Lets another thread stop a running search. Searches check the token every few hundred nodes.
+ */
+public class CancellationToken
+{
+	private volatile boolean cancelled;
+	
+	public void cancel()
+	{
+		cancelled = true;
+	}
+	
+	public boolean isCancelled()
+	{
+		return cancelled;
+	}
+}
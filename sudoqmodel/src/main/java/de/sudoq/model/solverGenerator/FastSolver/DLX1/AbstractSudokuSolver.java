@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import de.sudoq.model.solverGenerator.FastSolver.SearchBudget;
+
 public abstract class AbstractSudokuSolver
 {
 	protected int S; // size of the board
@@ -11,6 +13,8 @@ public abstract class AbstractSudokuSolver
 	
 	protected List<int[][]> solutions;
 	
+	private FastSudokuHandler handler;
+	
 	public AbstractSudokuSolver(int sizeOfTheBoard, int sizeOfSide)
 	{
 		S = sizeOfTheBoard;
@@ -25,12 +29,28 @@ public abstract class AbstractSudokuSolver
 		return solutions;
 	}
 	
+	// replaces the solutions of a previous call, the boards of the previous call are reused
 	public void solve(int[][] sudoku)
+	{
+		solve(sudoku, SearchBudget.UNLIMITED);
+	}
+	
+	// returns false if the search ran out of budget, the solutions found until then are kept
+	public boolean solve(int[][] sudoku, SearchBudget budget)
 	{
 		int[][] cover = makeExactCoverGrid(sudoku);
-		FastSudokuHandler fsh = new FastSudokuHandler(S, solutions);
-		DancingLinks dlx = new DancingLinks(cover, fsh);
-		dlx.runSolver();
+		if(handler == null)
+		{
+			handler = createHandler();
+		}
+		handler.reset();
+		DancingLinks dlx = new DancingLinks(cover, handler);
+		return dlx.runSolver(budget);
+	}
+	
+	protected FastSudokuHandler createHandler()
+	{
+		return new FastSudokuHandler(S, solutions);
 	}
 	
 	private static int[][] fromCharArr(String[] s)
@@ -0,0 +1,260 @@
+package de.sudoq.model.solverGenerator.FastSolver.DLX1;
+
+import java.util.Random;
+
+import de.sudoq.model.solverGenerator.FastSolver.AmbiguityResult;
+import de.sudoq.model.solverGenerator.FastSolver.FastSolver;
+import de.sudoq.model.solverGenerator.FastSolver.SearchBudget;
+import de.sudoq.model.solverGenerator.FastSolver.SolutionCallback;
+import de.sudoq.model.sudoku.Cell;
+import de.sudoq.model.sudoku.Position;
+import de.sudoq.model.sudoku.PositionMap;
+import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTopology;
+
+/**
+ * DLX solver on the exact cover layout of the sudoku's type (see {@link SudokuExactCover}).
+ *
+ * Given cells don't get rows, instead their columns are left out from the beginning
+ * together with all rows that would collide with them.
+ */
+public class ArrayDLXSolver implements FastSolver
+{
+	private static final int EMPTY = -1;
+	
+	private final SudokuExactCover cover;
+	private final SudokuTopology topology;
+	private final int symbols;
+	private final int[] givens; // cell id -> given value or EMPTY
+	
+	private ArrayDancingLinks dlx;
+	private AmbiguityResult result; // null until searched, UNKNOWN searches are repeated
+	private int numberOfSolutions;
+	private int[][] solutions;
+	
+	public ArrayDLXSolver(Sudoku s)
+	{
+		this(s, ColumnStrategy.MRV, null);
+	}
+	
+	/**
+	 * @param s the sudoku to solve
+	 * @param strategy how the search chooses the column to branch on
+	 * @param random random object for {@link ColumnStrategy#RANDOMIZED_MRV}, it also shuffles the rows of every
+	 *               column. Null for the deterministic order
+	 */
+	public ArrayDLXSolver(Sudoku s, ColumnStrategy strategy, Random random)
+	{
+		cover = s.getSudokuType().getExactCover();
+		topology = cover.getTopology();
+		symbols = cover.getNumberOfSymbols();
+		
+		givens = new int[cover.getNumberOfCells()];
+		for(int cell = 0; cell < givens.length; cell++)
+		{
+			Cell f = s.getCell(topology.getPosition(cell));
+			givens[cell] = f.isSolved() ? f.getCurrentValue() : EMPTY;
+		}
+		
+		build();
+		dlx.setColumnStrategy(strategy);
+		dlx.setRandom(random);
+	}
+	
+	private void build()
+	{
+		int cells = cover.getNumberOfCells();
+		int constraints = cover.getNumberOfConstraints();
+		
+		/* columns satisfied by the givens */
+		boolean[] satisfied = new boolean[cover.getNumberOfColumns()];
+		boolean conflict = false;
+		int nodeCapacity = 0;
+		for(int cell = 0; cell < cells; cell++)
+		{
+			int v = givens[cell];
+			if(v == EMPTY)
+			{
+				nodeCapacity += symbols * (1 + cover.getConstraintsOfCell(cell).length);
+				continue;
+			}
+			satisfied[cell] = true;
+			for(int k : cover.getConstraintsOfCell(cell))
+			{
+				int col = cover.getColumn(k, v);
+				conflict |= satisfied[col];
+				satisfied[col] = true;
+			}
+		}
+		
+		dlx = new ArrayDancingLinks(satisfied.length, nodeCapacity);
+		if(conflict)
+		{
+			result = AmbiguityResult.NO_SOLUTION; //two equal givens in one constraint
+			return;
+		}
+		
+		for(int cell = 0; cell < cells; cell++)
+		{
+			if(!satisfied[cell])
+			{
+				dlx.requireColumn(cell);
+			}
+		}
+		for(int k = 0; k < constraints; k++)
+		{
+			if(cover.isPrimary(k))
+			{
+				for(int v = 0; v < symbols; v++)
+				{
+					int col = cover.getColumn(k, v);
+					if(!satisfied[col])
+					{
+						dlx.requireColumn(col);
+					}
+				}
+			}
+		}
+		
+		int[] row = new int[1 + constraints];
+		for(int cell = 0; cell < cells; cell++)
+		{
+			if(givens[cell] != EMPTY)
+			{
+				continue;
+			}
+			for(int v = 0; v < symbols; v++)
+			{
+				int n = 0;
+				row[n++] = cell;
+				boolean possible = true;
+				for(int k : cover.getConstraintsOfCell(cell))
+				{
+					int col = cover.getColumn(k, v);
+					if(satisfied[col])
+					{
+						possible = false;
+						break;
+					}
+					row[n++] = col;
+				}
+				if(possible)
+				{
+					dlx.addRow(cell * symbols + v, row, n);
+				}
+			}
+		}
+	}
+	
+	/* looks for up to 2 solutions, 2 are sufficient to indicate ambiguity */
+	private AmbiguityResult solve(SearchBudget budget)
+	{
+		if(result != null && result != AmbiguityResult.UNKNOWN)
+		{
+			return result;
+		}
+		numberOfSolutions = dlx.search(2, budget);
+		solutions = new int[numberOfSolutions][];
+		for(int s = 0; s < numberOfSolutions; s++)
+		{
+			int[] solution = givens.clone();
+			for(int i = 0; i < dlx.getSolutionSize(s); i++)
+			{
+				int id = dlx.getSolutionRow(s, i);
+				solution[id / symbols] = id % symbols;
+			}
+			solutions[s] = solution;
+		}
+		if(numberOfSolutions > 1)
+		{
+			result = AmbiguityResult.AMBIGUOUS;
+		}
+		else if(dlx.isAborted())
+		{
+			result = AmbiguityResult.UNKNOWN;
+		}
+		else
+		{
+			result = numberOfSolutions == 1 ? AmbiguityResult.UNIQUE : AmbiguityResult.NO_SOLUTION;
+		}
+		return result;
+	}
+	
+	@Override
+	public int countSolutions(int limit)
+	{
+		if(limit <= 0 || result == AmbiguityResult.NO_SOLUTION) //no solution, possibly due to conflicting givens
+		{
+			return 0;
+		}
+		return dlx.count(limit, SearchBudget.UNLIMITED);
+	}
+	
+	@Override
+	public int enumerateSolutions(int limit, final SolutionCallback callback)
+	{
+		if(limit <= 0 || result == AmbiguityResult.NO_SOLUTION)
+		{
+			return 0;
+		}
+		final int[] solution = givens.clone(); //cell id -> value, reused for all solutions
+		return dlx.search(limit, SearchBudget.UNLIMITED, new ArrayDancingLinks.SolutionListener()
+		{
+			@Override
+			public boolean solutionFound(int[] rows, int count)
+			{
+				for(int i = 0; i < count; i++)
+				{
+					solution[rows[i] / symbols] = rows[i] % symbols;
+				}
+				return callback.solutionFound(solution);
+			}
+		});
+	}
+	
+	@Override
+	public boolean hasSolution()
+	{
+		solve(SearchBudget.UNLIMITED);
+		return numberOfSolutions > 0;
+	}
+	
+	@Override
+	public PositionMap<Integer> getSolutions()
+	{
+		int[] solution = solutions[0];
+		PositionMap<Integer> pm = new PositionMap<>(cover.getSize());
+		for(int cell = 0; cell < solution.length; cell++)
+		{
+			pm.put(topology.getPosition(cell), solution[cell]);
+		}
+		return pm;
+	}
+	
+	@Override
+	public boolean isAmbiguous()
+	{
+		return solve(SearchBudget.UNLIMITED) == AmbiguityResult.AMBIGUOUS;
+	}
+	
+	@Override
+	public AmbiguityResult checkAmbiguity(SearchBudget budget)
+	{
+		return solve(budget);
+	}
+	
+	@Override
+	public Position getAmbiguousPos()
+	{
+		int[] first = solutions[0];
+		int[] second = solutions[1];
+		for(int cell = 0; cell < first.length; cell++)
+		{
+			if(first[cell] != second[cell])
+			{
+				return topology.getPosition(cell);
+			}
+		}
+		throw new IllegalStateException();
+	}
+}
@@ -0,0 +1,680 @@
+package de.sudoq.model.solverGenerator.FastSolver.DLX1;
+
+import java.util.Random;
+
+import de.sudoq.model.solverGenerator.FastSolver.SearchBudget;
+
+/**
+ * Dancing Links on parallel int arrays instead of node objects.
+ * Node 0 is the root, nodes 1..columns are the column headers, all further nodes belong to rows.
+ * The matrix is built sparsely: columns are created up front, rows are appended one by one with
+ * {@link #addRow(int, int[], int)}. Only columns passed to {@link #requireColumn(int)} have to be covered,
+ * all others are secondary columns (covered at most once).
+ *
+ * The search is iterative, it leaves the structure in its initial state and can be repeated.
+ * Rows can be put into every solution beforehand with {@link #selectRow(int)}, this is undone with
+ * {@link #deselectRow(int)} in reverse order.
+ * With {@link #setRandom(Random)} the rows of a column are tried in random order, e.g. to produce random solutions.
+ * Which column is branched on is determined by the {@link ColumnStrategy}.
+ * Solutions are either stored (see {@link #getSolutionRow(int, int)}) or passed to a {@link SolutionListener}, which
+ * allows to enumerate any number of them.
+ */
+public class ArrayDancingLinks
+{
+	/**
+	 * Receives the solutions of {@link #search(int, SearchBudget, SolutionListener)} as they are found.
+	 */
+	public interface SolutionListener
+	{
+		/**
+		 * @param rows ids of the rows of the solution, the array is reused for the next solution
+		 * @param count number of valid entries in rows
+		 * @return true to continue the search, false to stop it
+		 */
+		boolean solutionFound(int[] rows, int count);
+	}
+	
+	/* only counts */
+	private static final SolutionListener COUNTER = new SolutionListener()
+	{
+		@Override
+		public boolean solutionFound(int[] rows, int count)
+		{
+			return true;
+		}
+	};
+	
+	private static final int ROOT = 0;
+	
+	private final int[] L, R, U, D;
+	private final int[] column; // header of every node
+	private final int[] rowId;  // id of the row a node belongs to, given by the caller
+	private final int[] size;   // number of nodes in a column, only valid for headers
+	private final boolean[] covered; // is the column covered, only valid for headers
+	private final boolean[] required; // is the column primary, only valid for headers
+	
+	private int nodes;
+	private int requiredColumns;
+	
+	/* state of the last search */
+	private int[] chosenRows;   // node of the row chosen on every level
+	private int[] chosenColumn; // column covered on every level
+	private int[] solutionRows; // row ids of the solutions, solution s starts at s * requiredColumns
+	private int[] solutionSize;
+	private int[] listenerRows; // row ids of the current solution for a listener
+	private int solutions;
+	private long visitedNodes;
+	private boolean aborted;
+	
+	/* random row order, null for the order of the rows in the column */
+	private Random random;
+	private int[] shuffledRows; // rows of the column chosen on level k start at k * maxColumnSize
+	private int[] shuffledIndex; // index of the row tried on every level
+	private int maxColumnSize;
+	
+	private ColumnStrategy strategy = ColumnStrategy.MRV;
+	
+	/* buckets of the uncovered primary columns by size, only maintained during a search with a bucketed strategy.
+	 * Headers and buckets share the links: the list of size s starts at the node bucketBase + s */
+	private int[] bucketNext, bucketPrev;
+	private int bucketBase;
+	private boolean bucketsActive;
+	
+	/**
+	 * @param columns number of columns
+	 * @param nodeCapacity maximum number of ones in the matrix
+	 */
+	public ArrayDancingLinks(int columns, int nodeCapacity)
+	{
+		int capacity = columns + 1 + nodeCapacity;
+		L = new int[capacity];
+		R = new int[capacity];
+		U = new int[capacity];
+		D = new int[capacity];
+		column = new int[capacity];
+		rowId = new int[capacity];
+		size = new int[columns + 1];
+		covered = new boolean[columns + 1];
+		required = new boolean[columns + 1];
+		
+		for(int c = 0; c <= columns; c++)
+		{
+			L[c] = R[c] = U[c] = D[c] = column[c] = c;
+			rowId[c] = -1;
+		}
+		nodes = columns + 1;
+	}
+	
+	/**
+	 * Copies the matrix in its current state, including the selected rows, e.g. to search parts of it on other
+	 * threads. The column strategy is copied, the random object is not.
+	 *
+	 * @param other the matrix to copy, no search may be running on it
+	 */
+	public ArrayDancingLinks(ArrayDancingLinks other)
+	{
+		L = other.L.clone();
+		R = other.R.clone();
+		U = other.U.clone();
+		D = other.D.clone();
+		column = other.column.clone();
+		rowId = other.rowId.clone();
+		size = other.size.clone();
+		covered = other.covered.clone();
+		required = other.required.clone();
+		nodes = other.nodes;
+		requiredColumns = other.requiredColumns;
+		strategy = other.strategy;
+	}
+	
+	/**
+	 * Marks a column as primary i.e. it has to be covered by every solution.
+	 * Has to be called at most once per column.
+	 *
+	 * @param c index of the column
+	 */
+	public void requireColumn(int c)
+	{
+		int h = c + 1;
+		required[h] = true;
+		L[h] = L[ROOT];
+		R[h] = ROOT;
+		R[L[ROOT]] = h;
+		L[ROOT] = h;
+		requiredColumns++;
+	}
+	
+	/**
+	 * Appends a row.
+	 *
+	 * @param id id of the row, reported in the solutions
+	 * @param columns indices of the columns with a one in this row
+	 * @param count number of valid entries in columns
+	 * @return the first node of the row, it identifies the row in {@link #selectRow(int)}
+	 */
+	public int addRow(int id, int[] columns, int count)
+	{
+		int first = nodes;
+		for(int i = 0; i < count; i++)
+		{
+			int n = nodes++;
+			int h = columns[i] + 1;
+			column[n] = h;
+			rowId[n] = id;
+			
+			U[n] = U[h];
+			D[n] = h;
+			D[U[h]] = n;
+			U[h] = n;
+			size[h]++;
+			
+			L[n] = n - 1;
+			R[n] = n + 1;
+		}
+		L[first] = nodes - 1;
+		R[nodes - 1] = first;
+		return first;
+	}
+	
+	/**
+	 * @param row the first node of a row, as returned by {@link #addRow(int, int[], int)}
+	 * @return true if none of the columns of the row is covered, i.e. the row can be selected
+	 */
+	public boolean isSelectable(int row)
+	{
+		int j = row;
+		do
+		{
+			if(covered[column[j]])
+			{
+				return false;
+			}
+			j = R[j];
+		}
+		while(j != row);
+		return true;
+	}
+	
+	/**
+	 * Returns the rows the search would branch on first: the rows of the column the column strategy chooses, in the
+	 * order the search tries them without a random object.
+	 *
+	 * @return the nodes of the rows in that column, to be passed to {@link #selectRow(int)}. Null if all required
+	 *         columns are covered i.e. the selected rows are a solution
+	 */
+	public int[] getBranchRows()
+	{
+		if(R[ROOT] == ROOT)
+		{
+			return null;
+		}
+		if(strategy == ColumnStrategy.BUCKETED_MRV || strategy == ColumnStrategy.RANDOMIZED_MRV)
+		{
+			initializeBuckets();
+		}
+		int c = selectColumn();
+		int[] rows = new int[size[c]];
+		int n = 0;
+		for(int i = D[c]; i != c; i = D[i])
+		{
+			rows[n++] = i;
+		}
+		return rows;
+	}
+	
+	/**
+	 * @param node a node of a row
+	 * @return the id of the row, as passed to {@link #addRow(int, int[], int)}
+	 */
+	public int getRowId(int node)
+	{
+		return rowId[node];
+	}
+	
+	/**
+	 * Puts the row into every solution of the following searches by covering its columns, as the search does when it
+	 * chooses a row. The row has to be selectable, see {@link #isSelectable(int)}.
+	 * Any node of the row may be passed, its column is covered first.
+	 *
+	 * @param row the first node of the row
+	 */
+	public void selectRow(int row)
+	{
+		cover(column[row]);
+		for(int j = R[row]; j != row; j = R[j])
+		{
+			cover(column[j]);
+		}
+	}
+	
+	/**
+	 * Undoes {@link #selectRow(int)}. Rows have to be deselected in the reverse order of their selection.
+	 *
+	 * @param row the first node of the row
+	 */
+	public void deselectRow(int row)
+	{
+		for(int j = L[row]; j != row; j = L[j])
+		{
+			uncover(column[j]);
+		}
+		uncover(column[row]);
+	}
+	
+	private void cover(int c)
+	{
+		covered[c] = true;
+		R[L[c]] = R[c];
+		L[R[c]] = L[c];
+		if(bucketsActive && required[c])
+		{
+			unlinkBucket(c);
+		}
+		for(int i = D[c]; i != c; i = D[i])
+		{
+			for(int j = R[i]; j != i; j = R[j])
+			{
+				D[U[j]] = D[j];
+				U[D[j]] = U[j];
+				int h = column[j];
+				size[h]--;
+				if(bucketsActive && required[h]) //the other columns of a remaining row are never covered
+				{
+					unlinkBucket(h);
+					linkBucket(h);
+				}
+			}
+		}
+	}
+	
+	private void uncover(int c)
+	{
+		for(int i = U[c]; i != c; i = U[i])
+		{
+			for(int j = L[i]; j != i; j = L[j])
+			{
+				int h = column[j];
+				size[h]++;
+				if(bucketsActive && required[h])
+				{
+					unlinkBucket(h);
+					linkBucket(h);
+				}
+				D[U[j]] = j;
+				U[D[j]] = j;
+			}
+		}
+		R[L[c]] = c;
+		L[R[c]] = c;
+		covered[c] = false;
+		if(bucketsActive && required[c])
+		{
+			linkBucket(c);
+		}
+	}
+	
+	/**
+	 * Sets how the following searches choose the column to branch on, {@link ColumnStrategy#MRV} by default.
+	 *
+	 * @param strategy the column strategy
+	 */
+	public void setColumnStrategy(ColumnStrategy strategy)
+	{
+		this.strategy = strategy;
+	}
+	
+	/* puts the uncovered primary columns into the buckets of their sizes */
+	private void initializeBuckets()
+	{
+		int maxSize = 0;
+		for(int h = 1; h < size.length; h++)
+		{
+			maxSize = Math.max(maxSize, size[h]);
+		}
+		bucketBase = size.length;
+		int capacity = bucketBase + maxSize + 1;
+		if(bucketNext == null || bucketNext.length < capacity)
+		{
+			bucketNext = new int[capacity];
+			bucketPrev = new int[capacity];
+		}
+		for(int b = bucketBase; b < capacity; b++)
+		{
+			bucketNext[b] = bucketPrev[b] = b;
+		}
+		for(int h = R[ROOT]; h != ROOT; h = R[h])
+		{
+			linkBucket(h);
+		}
+	}
+	
+	/* inserts the column at the front of the bucket of its size */
+	private void linkBucket(int h)
+	{
+		int b = bucketBase + size[h];
+		bucketNext[h] = bucketNext[b];
+		bucketPrev[h] = b;
+		bucketPrev[bucketNext[b]] = h;
+		bucketNext[b] = h;
+	}
+	
+	private void unlinkBucket(int h)
+	{
+		bucketNext[bucketPrev[h]] = bucketNext[h];
+		bucketPrev[bucketNext[h]] = bucketPrev[h];
+	}
+	
+	/**
+	 * Sets the random object that shuffles the rows of every chosen column in the following searches.
+	 *
+	 * @param random random object, null to try the rows in the order they were added
+	 */
+	public void setRandom(Random random)
+	{
+		this.random = random;
+	}
+	
+	/* first row of the column chosen on level k, the column itself if it has none */
+	private int firstRow(int k)
+	{
+		int c = chosenColumn[k];
+		if(random == null)
+		{
+			return D[c];
+		}
+		int offset = k * maxColumnSize;
+		int n = 0;
+		for(int i = D[c]; i != c; i = D[i])
+		{
+			int j = random.nextInt(n + 1); //inside-out Fisher-Yates
+			shuffledRows[offset + n] = shuffledRows[offset + j];
+			shuffledRows[offset + j] = i;
+			n++;
+		}
+		shuffledRows[offset + n] = c;
+		shuffledIndex[k] = 0;
+		return shuffledRows[offset];
+	}
+	
+	/* row tried on level k after row r, the column itself after the last one */
+	private int nextRow(int k, int r)
+	{
+		if(random == null)
+		{
+			return D[r];
+		}
+		return shuffledRows[k * maxColumnSize + ++shuffledIndex[k]];
+	}
+	
+	/* remaining required column to branch on, see ColumnStrategy. There is at least one */
+	private int selectColumn()
+	{
+		switch(strategy)
+		{
+			case NAIVE:
+				return R[ROOT];
+			case BUCKETED_MRV:
+			case RANDOMIZED_MRV:
+				return selectColumnFromBuckets();
+			default:
+				return selectSmallestColumn();
+		}
+	}
+	
+	/* first column of the smallest non empty bucket, a random one of it for RANDOMIZED_MRV */
+	private int selectColumnFromBuckets()
+	{
+		int b = bucketBase;
+		while(bucketNext[b] == b)
+		{
+			b++;
+		}
+		if(strategy != ColumnStrategy.RANDOMIZED_MRV || random == null)
+		{
+			return bucketNext[b];
+		}
+		int n = 0;
+		for(int h = bucketNext[b]; h != b; h = bucketNext[h])
+		{
+			n++;
+		}
+		int h = bucketNext[b];
+		for(int i = random.nextInt(n); i > 0; i--)
+		{
+			h = bucketNext[h];
+		}
+		return h;
+	}
+	
+	/* required column with the fewest rows, first one on ties */
+	private int selectSmallestColumn()
+	{
+		int min = Integer.MAX_VALUE;
+		int ret = ROOT;
+		for(int c = R[ROOT]; c != ROOT; c = R[c])
+		{
+			if(size[c] < min)
+			{
+				min = size[c];
+				ret = c;
+				if(min <= 1)
+				{
+					break;
+				}
+			}
+		}
+		return ret;
+	}
+	
+	/**
+	 * Searches for exact covers until limit many are found or the search space is exhausted.
+	 *
+	 * @param limit maximum number of solutions to look for
+	 * @return number of solutions found
+	 */
+	public int search(int limit)
+	{
+		return search(limit, SearchBudget.UNLIMITED);
+	}
+	
+	/**
+	 * Searches for exact covers until limit many are found, the search space is exhausted or the budget runs out.
+	 * Every row that is tried counts as one node.
+	 *
+	 * @param limit maximum number of solutions to look for
+	 * @param budget limits of the search, see {@link #isAborted()}
+	 * @return number of solutions found
+	 */
+	public int search(int limit, SearchBudget budget)
+	{
+		return search(limit, budget, null);
+	}
+	
+	/**
+	 * Counts exact covers until limit many are found, the search space is exhausted or the budget runs out.
+	 * Nothing is stored, so the limit may be large.
+	 *
+	 * @param limit maximum number of solutions to count
+	 * @param budget limits of the search, see {@link #isAborted()}
+	 * @return number of solutions found
+	 */
+	public int count(int limit, SearchBudget budget)
+	{
+		return search(limit, budget, COUNTER);
+	}
+	
+	/**
+	 * Searches for exact covers like {@link #search(int, SearchBudget)}, but passes them to the listener instead of
+	 * storing them. The search also stops when the listener returns false.
+	 *
+	 * @param limit maximum number of solutions to look for
+	 * @param budget limits of the search, see {@link #isAborted()}
+	 * @param listener receives the solutions, null to store them
+	 * @return number of solutions found
+	 */
+	public int search(int limit, SearchBudget budget, SolutionListener listener)
+	{
+		int depth = requiredColumns + 1;
+		if(chosenRows == null || chosenRows.length < depth)
+		{
+			chosenRows = new int[depth];
+			chosenColumn = new int[depth];
+		}
+		if(listener != null)
+		{
+			if(listenerRows == null)
+			{
+				listenerRows = new int[Math.max(requiredColumns, 1)];
+			}
+		}
+		else if(solutionSize == null || solutionSize.length < limit)
+		{
+			solutionSize = new int[limit];
+			solutionRows = new int[limit * Math.max(requiredColumns, 1)];
+		}
+		if(random != null && shuffledIndex == null)
+		{
+			for(int c = 1; c < size.length; c++)
+			{
+				maxColumnSize = Math.max(maxColumnSize, size[c]);
+			}
+			maxColumnSize++; //room for the header that ends every level
+			shuffledRows = new int[chosenRows.length * maxColumnSize];
+			shuffledIndex = new int[chosenRows.length];
+		}
+		solutions = 0;
+		visitedNodes = 0;
+		aborted = false;
+		
+		if(R[ROOT] == ROOT)
+		{
+			storeSolution(0, listener); //nothing to cover
+			return solutions;
+		}
+		
+		bucketsActive = strategy == ColumnStrategy.BUCKETED_MRV || strategy == ColumnStrategy.RANDOMIZED_MRV;
+		if(bucketsActive)
+		{
+			initializeBuckets();
+		}
+		int k = 0;
+		int c = selectColumn();
+		cover(c);
+		chosenColumn[0] = c;
+		chosenRows[0] = firstRow(0);
+		
+		while(k >= 0)
+		{
+			int r = chosenRows[k];
+			if(r != chosenColumn[k] && solutions < limit && !aborted && budget.isExhausted(++visitedNodes))
+			{
+				aborted = true;
+			}
+			if(r == chosenColumn[k] || solutions >= limit || aborted)
+			{
+				/* all rows of this level tried (or enough solutions, or out of budget) -> go up one level */
+				uncover(chosenColumn[k]);
+				k--;
+				if(k >= 0)
+				{
+					int p = chosenRows[k];
+					for(int j = L[p]; j != p; j = L[j])
+					{
+						uncover(column[j]);
+					}
+					chosenRows[k] = nextRow(k, p);
+				}
+				continue;
+			}
+			
+			for(int j = R[r]; j != r; j = R[j])
+			{
+				cover(column[j]);
+			}
+			
+			if(R[ROOT] == ROOT)
+			{
+				if(!storeSolution(k + 1, listener))
+				{
+					limit = solutions; //unwinds like a reached limit
+				}
+				for(int j = L[r]; j != r; j = L[j])
+				{
+					uncover(column[j]);
+				}
+				chosenRows[k] = nextRow(k, r);
+			}
+			else
+			{
+				c = selectColumn();
+				cover(c);
+				k++;
+				chosenColumn[k] = c;
+				chosenRows[k] = firstRow(k);
+			}
+		}
+		bucketsActive = false; //selecting rows may exceed the sizes the buckets were made for
+		return solutions;
+	}
+	
+	/* stores the rows chosen on the levels up to depth or passes them to the listener, false to stop the search */
+	private boolean storeSolution(int depth, SolutionListener listener)
+	{
+		if(listener != null)
+		{
+			for(int i = 0; i < depth; i++)
+			{
+				listenerRows[i] = rowId[chosenRows[i]];
+			}
+			solutions++;
+			return listener.solutionFound(listenerRows, depth);
+		}
+		int offset = solutions * requiredColumns;
+		for(int i = 0; i < depth; i++)
+		{
+			solutionRows[offset + i] = rowId[chosenRows[i]];
+		}
+		solutionSize[solutions++] = depth;
+		return true;
+	}
+	
+	/**
+	 * @return true if the last search stopped because its budget ran out
+	 */
+	public boolean isAborted()
+	{
+		return aborted;
+	}
+	
+	/**
+	 * @return number of rows tried by the last search
+	 */
+	public long getVisitedNodes()
+	{
+		return visitedNodes;
+	}
+	
+	/**
+	 * @return number of solutions found by the last search
+	 */
+	public int getNumberOfSolutions()
+	{
+		return solutions;
+	}
+	
+	/**
+	 * Returns the number of rows in solution s of the last search that stored its solutions.
+	 */
+	public int getSolutionSize(int s)
+	{
+		return solutionSize[s];
+	}
+	
+	/**
+	 * Returns the id of the i-th row of solution s of the last search that stored its solutions.
+	 */
+	public int getSolutionRow(int s, int i)
+	{
+		return solutionRows[s * requiredColumns + i];
+	}
+}
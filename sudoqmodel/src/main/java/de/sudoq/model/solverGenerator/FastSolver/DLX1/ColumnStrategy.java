@@ -0,0 +1,21 @@
+package de.sudoq.model.solverGenerator.FastSolver.DLX1;
+
+/**
+ * How {@link ArrayDancingLinks} chooses the column to branch on.
+ */
+public enum ColumnStrategy
+{
+	/** the first remaining column, no size heuristic */
+	NAIVE,
+	
+	/** a column with the fewest rows, found by scanning all remaining columns. The first one on ties */
+	MRV,
+	
+	/** a column with the fewest rows, taken from buckets of columns by size that are kept up to date by covering
+	 * and uncovering. Ties are broken differently than by {@link #MRV} */
+	BUCKETED_MRV,
+	
+	/** a random column among those with the fewest rows, uses the buckets of {@link #BUCKETED_MRV} and the random
+	 * object of {@link ArrayDancingLinks#setRandom(java.util.Random)} */
+	RANDOMIZED_MRV
+}
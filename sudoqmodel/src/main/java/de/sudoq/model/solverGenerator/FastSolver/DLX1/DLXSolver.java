@@ -1,14 +1,13 @@
 package de.sudoq.model.solverGenerator.FastSolver.DLX1;
 
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import de.sudoq.model.solverGenerator.FastSolver.AmbiguityResult;
 import de.sudoq.model.solverGenerator.FastSolver.FastSolver;
+import de.sudoq.model.solverGenerator.FastSolver.FastSolverFactory;
+import de.sudoq.model.solverGenerator.FastSolver.SearchBudget;
+import de.sudoq.model.solverGenerator.FastSolver.SolutionCallback;
 import de.sudoq.model.sudoku.Cell;
 import de.sudoq.model.sudoku.Position;
 import de.sudoq.model.sudoku.PositionMap;
@@ -17,14 +16,17 @@ import de.sudoq.model.sudoku.Sudoku;
 public class DLXSolver implements FastSolver
 {
 	private boolean calculationDone;
+	private boolean complete; // false if the last search ran out of budget
 	
 	private List<int[][]> solutions;
 	
 	private AbstractSudokuSolver solver;
 	private int[][] array;
+	private final Sudoku sudoku;
 	
 	public DLXSolver(Sudoku s)
 	{
+		sudoku = s;
 		switch(s.getSudokuType().getEnumType())
 		{
 			case standard16x16:
@@ -70,9 +72,9 @@ public class DLXSolver implements FastSolver
 	@Override
 	public boolean hasSolution()
 	{
-		if(!calculationDone)
+		if(!calculationDone || !complete && solutions.isEmpty())
 		{
-			solver.solve(array);
+			complete = solver.solve(array, SearchBudget.UNLIMITED);
 			solutions = solver.getSolutions();
 			calculationDone = true;
 		}
@@ -82,39 +84,35 @@ public class DLXSolver implements FastSolver
 	@Override
 	public boolean isAmbiguous()
 	{
-		if(!calculationDone)
-		{
-			/*
-			 * If the sudoku only has one solution, we have to go through the whole search space
-			 * to rule out further solutions.
-			 * as this takes a long time we rather want to stop after x minutes and treat it as if there are no further solution
-			 *
-			 * */
-			ExecutorService executor = Executors.newSingleThreadExecutor();
-			Collection c = Collections.singletonList(new AmbiguousTask());
-			try
-			{
-				executor.invokeAll(c, 5, TimeUnit.MINUTES); // Timeout of 5 minutes.
-			}
-			catch(InterruptedException e)
-			{
-				e.printStackTrace();
-			}
-			executor.shutdown();
-		}
-		
-		return solutions != null && solutions.size() > 1;
+		/*
+		 * If the sudoku only has one solution, we have to go through the whole search space
+		 * to rule out further solutions.
+		 * as this takes a long time we rather want to stop after x minutes and treat it as if there are no further solution
+		 * */
+		return checkAmbiguity(new SearchBudget(Long.MAX_VALUE, TimeUnit.MINUTES.toMillis(5), null)) == AmbiguityResult.AMBIGUOUS;
 	}
 	
-	private class AmbiguousTask implements Callable
+	@Override
+	public AmbiguityResult checkAmbiguity(SearchBudget budget)
 	{
-		@Override
-		public Object call() throws Exception
+		if(!calculationDone || !complete && solutions.size() < 2)
 		{
-			solver.solve(array);
+			complete = solver.solve(array, budget);
 			solutions = solver.getSolutions();
 			calculationDone = true;
-			return null;
+		}
+		
+		if(solutions.size() > 1)
+		{
+			return AmbiguityResult.AMBIGUOUS;
+		}
+		else if(!complete)
+		{
+			return AmbiguityResult.UNKNOWN;
+		}
+		else
+		{
+			return solutions.size() == 1 ? AmbiguityResult.UNIQUE : AmbiguityResult.NO_SOLUTION;
 		}
 	}
 	
@@ -159,4 +157,19 @@ public class DLXSolver implements FastSolver
 	{
 		return solutions;
 	}
+	
+	/**
+	 * The hand written grids stop at the second solution, counting is left to the solver of {@link FastSolverFactory}.
+	 */
+	@Override
+	public int countSolutions(int limit)
+	{
+		return FastSolverFactory.getSolver(sudoku).countSolutions(limit);
+	}
+	
+	@Override
+	public int enumerateSolutions(int limit, SolutionCallback callback)
+	{
+		return FastSolverFactory.getSolver(sudoku).enumerateSolutions(limit, callback);
+	}
 }
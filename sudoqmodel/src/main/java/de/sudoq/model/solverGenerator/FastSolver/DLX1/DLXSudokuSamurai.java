@@ -305,12 +305,10 @@ public class DLXSudokuSamurai extends AbstractSudokuSolver
 		return cellOffset * 9 + (row - rowOffset - 1) * nrCols * nrSymbols + (col - colOffset - 1) * nrSymbols + (num - 1);
 	}
 	
-	public void solve(int[][] sudoku)
+	@Override
+	protected FastSudokuHandler createHandler()
 	{
-		int[][] cover = makeExactCoverGrid(sudoku);
-		FastSudokuHandler fsh = new SamuraiSudokuHandler(S, solutions);
-		DancingLinks dlx = new DancingLinks(cover, fsh);
-		dlx.runSolver();
+		return new SamuraiSudokuHandler(S, solutions);
 	}
 	
 	public static void printSudoku(int[][] sudoku)
@@ -9,12 +9,15 @@ package de.sudoq.model.solverGenerator.FastSolver.DLX1;
 
 import java.util.*;
 
+import de.sudoq.model.solverGenerator.FastSolver.SearchBudget;
+
 public class DancingLinks
 {
 	public class DancingNode
 	{
 		DancingNode L, R, U, D;
 		ColumnNode C;
+		int row = -1; // index of the row in the grid this node stems from
 		
 		// hooks node n1 `below` current node
 		DancingNode hookDown(DancingNode n1)
@@ -68,23 +71,24 @@ public class DancingLinks
 			L = R = U = D = this;
 		}
 		
-		public DancingNode(ColumnNode c)
+		public DancingNode(ColumnNode c, int row)
 		{
 			this();
 			C = c;
+			this.row = row;
 		}
 	}
 	
 	class ColumnNode extends DancingNode
 	{
 		int size; // number of ones in current column
-		String name;
+		int index; // index of the column in the grid, -1 for the header
 		
-		public ColumnNode(String n)
+		public ColumnNode(int i)
 		{
 			super();
 			size = 0;
-			name = n;
+			index = i;
 			C = this;
 		}
 		
@@ -122,6 +126,9 @@ public class DancingLinks
 	private int updates = 0;
 	private SolutionHandler handler;
 	private List<DancingNode> answer;
+	private SearchBudget budget;
+	private long nodes;
+	private boolean aborted;
 	
 	// Heart of the algorithm
 	private void search(int k)
@@ -143,6 +150,11 @@ public class DancingLinks
 			
 			for(DancingNode r = c.D; r != c; r = r.D)
 			{
+				if(budget.isExhausted(++nodes))
+				{
+					aborted = true; //not part of original, stop and restore the board
+					break;
+				}
 				answer.add(r);
 				
 				for(DancingNode j = r.R; j != r; j = j.R)
@@ -159,6 +171,10 @@ public class DancingLinks
 				{
 					j.C.uncover();
 				}
+				if(aborted)
+				{
+					break;
+				}
 			}
 			c.uncover();
 		}
@@ -222,10 +238,10 @@ public class DancingLinks
 			for(DancingNode d = tmp.D; d != tmp; d = d.D)
 			{
 				String ret = "";
-				ret += d.C.name + " --> ";
+				ret += d.C.index + " --> ";
 				for(DancingNode i = d.R; i != d; i = i.R)
 				{
-					ret += i.C.name + " --> ";
+					ret += i.C.index + " --> ";
 				}
 				System.out.println(ret);
 			}
@@ -239,13 +255,13 @@ public class DancingLinks
 		final int COLS = grid[0].length;
 		final int ROWS = grid.length;
 		
-		ColumnNode headerNode = new ColumnNode("header");
-		ArrayList<ColumnNode> columnNodes = new ArrayList<ColumnNode>();
+		ColumnNode headerNode = new ColumnNode(-1);
+		ColumnNode[] columnNodes = new ColumnNode[COLS];
 		
 		for(int i = 0; i < COLS; i++)
 		{
-			ColumnNode n = new ColumnNode(Integer.toString(i));
-			columnNodes.add(n);
+			ColumnNode n = new ColumnNode(i);
+			columnNodes[i] = n;
 			headerNode = (ColumnNode) headerNode.hookRight(n);
 		}
 		headerNode = headerNode.R.C;
@@ -257,8 +273,8 @@ public class DancingLinks
 			{
 				if(grid[i][j] == 1)
 				{
-					ColumnNode col = columnNodes.get(j);
-					DancingNode newNode = new DancingNode(col);
+					ColumnNode col = columnNodes[j];
+					DancingNode newNode = new DancingNode(col, i);
 					if(prev == null)
 					{
 						prev = newNode;
@@ -288,10 +304,24 @@ public class DancingLinks
 	}
 	
 	public void runSolver()
+	{
+		runSolver(SearchBudget.UNLIMITED);
+	}
+	
+	/**
+	 * Runs the search until 2 solutions are found, the search space is exhausted or budget runs out.
+	 *
+	 * @return false if the search was stopped because of the budget
+	 */
+	public boolean runSolver(SearchBudget budget)
 	{
 		solutions = 0;
 		updates = 0;
-		answer = new LinkedList<DancingNode>();
+		nodes = 0;
+		aborted = false;
+		this.budget = budget;
+		answer = new ArrayList<DancingNode>();
 		search(0);
+		return !aborted;
 	}
 }
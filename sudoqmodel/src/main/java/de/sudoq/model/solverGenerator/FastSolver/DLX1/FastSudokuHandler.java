@@ -1,21 +1,53 @@
 package de.sudoq.model.solverGenerator.FastSolver.DLX1;
 
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Collects the solutions in the given list. The boards are buffers owned by the handler,
+ * they are reused after {@link #reset()}.
+ */
 public class FastSudokuHandler extends SudokuHandler
 {
 	private final List<int[][]> solutions;
 	
+	private int[][][] buffers = new int[2][][];
+	
 	public FastSudokuHandler(int boardSize, List<int[][]> solutions)
 	{
 		super(boardSize);
 		this.solutions = solutions;
 	}
 	
+	/**
+	 * Clears the list of solutions so that the buffers can be reused.
+	 */
+	public void reset()
+	{
+		solutions.clear();
+	}
+	
 	@Override
 	public void handleSolution(List<DancingLinks.DancingNode> answer)
 	{
-		int[][] result = parseBoard(answer);
+		int i = solutions.size();
+		if(i == buffers.length)
+		{
+			buffers = Arrays.copyOf(buffers, 2 * i);
+		}
+		int[][] result = buffers[i];
+		if(result == null)
+		{
+			result = buffers[i] = new int[size][size];
+		}
+		else
+		{
+			for(int[] row : result)
+			{
+				Arrays.fill(row, 0);
+			}
+		}
+		parseBoard(answer, result);
 		solutions.add(result);
 	}
 }
@@ -0,0 +1,433 @@
+package de.sudoq.model.solverGenerator.FastSolver.DLX1;
+
+import java.util.Random;
+
+import de.sudoq.model.solverGenerator.FastSolver.AmbiguityResult;
+import de.sudoq.model.solverGenerator.FastSolver.FastSolver;
+import de.sudoq.model.solverGenerator.FastSolver.SearchBudget;
+import de.sudoq.model.solverGenerator.FastSolver.SolutionCallback;
+import de.sudoq.model.sudoku.Cell;
+import de.sudoq.model.sudoku.Position;
+import de.sudoq.model.sudoku.PositionMap;
+import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTopology;
+
+/**
+ * DLX solver on the exact cover layout of the sudoku's type (see {@link SudokuExactCover}) that stays bound to one
+ * clue set and follows its changes. The matrix holds the rows of all cells and is built once, givens are added with
+ * {@link #assume(Position, int)} and removed with {@link #retract(Position)} by selecting and deselecting their rows
+ * in place. Repeated queries during generation therefore only cost the search.
+ *
+ * The matrix is ordered like the one of {@link ArrayDLXSolver}, so both find the same solutions in the same order.
+ * Only types whose layout is exact (see {@link SudokuExactCover#isExact()}) are supported.
+ * Not thread safe, every thread needs its own instance.
+ */
+public class IncrementalDLXSolver implements FastSolver
+{
+	private static final int EMPTY = Cell.EMPTYVAL;
+	
+	/* node budget per cell of the first randomized search, see getRandomSolution */
+	private static final long RANDOM_RESTART_NODES = 2;
+	
+	/* nodes the ambiguity check searches on its own before it is split up, most checks are done by then and
+	 * splitting would only cost copies */
+	private static final long SEQUENTIAL_NODES = 20000;
+	
+	private final SudokuExactCover cover;
+	private final SudokuTopology topology;
+	private final int symbols;
+	
+	private final ArrayDancingLinks dlx;
+	private final int[] rows; // row id -> first node of the row
+	
+	/* the assumed givens in the order they were selected. Rows that collide with an earlier given are not selected */
+	private final int[] assumedCells;
+	private final int[] assumedValues;
+	private final boolean[] selected;
+	private int numberOfAssumptions;
+	private int conflicts; // number of assumptions that could not be selected
+	
+	private final int[] values;         // cell id -> assumed value or EMPTY
+	private final int[] assumptionIndex; // cell id -> index in assumedCells or -1
+	
+	private AmbiguityResult result; // null until searched or after a change, UNKNOWN searches are repeated
+	private int numberOfSolutions;
+	private final int[][] solutions;
+	
+	private ParallelExactCoverSearch parallelSearch; // null: all searches are sequential
+	
+	/**
+	 * Builds the matrix of the sudoku's type and assumes the values entered in the sudoku.
+	 *
+	 * @param s a sudoku whose type has an exact layout
+	 * @throws IllegalArgumentException if the layout of the type is not exact
+	 */
+	public IncrementalDLXSolver(Sudoku s)
+	{
+		cover = s.getSudokuType().getExactCover();
+		topology = cover.getTopology();
+		if(!cover.isExact())
+		{
+			throw new IllegalArgumentException("the type can't be expressed as exact cover");
+		}
+		symbols = cover.getNumberOfSymbols();
+		int cells = cover.getNumberOfCells();
+		int constraints = cover.getNumberOfConstraints();
+		
+		int nodeCapacity = 0;
+		for(int cell = 0; cell < cells; cell++)
+		{
+			nodeCapacity += symbols * (1 + cover.getConstraintsOfCell(cell).length);
+		}
+		dlx = new ArrayDancingLinks(cover.getNumberOfColumns(), nodeCapacity);
+		for(int cell = 0; cell < cells; cell++)
+		{
+			dlx.requireColumn(cell);
+		}
+		for(int k = 0; k < constraints; k++)
+		{
+			if(cover.isPrimary(k))
+			{
+				for(int v = 0; v < symbols; v++)
+				{
+					dlx.requireColumn(cover.getColumn(k, v));
+				}
+			}
+		}
+		
+		rows = new int[cells * symbols];
+		int[] row = new int[1 + constraints];
+		for(int cell = 0; cell < cells; cell++)
+		{
+			for(int v = 0; v < symbols; v++)
+			{
+				int n = 0;
+				row[n++] = cell;
+				for(int k : cover.getConstraintsOfCell(cell))
+				{
+					row[n++] = cover.getColumn(k, v);
+				}
+				rows[cell * symbols + v] = dlx.addRow(cell * symbols + v, row, n);
+			}
+		}
+		
+		assumedCells = new int[cells];
+		assumedValues = new int[cells];
+		selected = new boolean[cells];
+		values = new int[cells];
+		assumptionIndex = new int[cells];
+		for(int cell = 0; cell < cells; cell++)
+		{
+			values[cell] = EMPTY;
+			assumptionIndex[cell] = -1;
+		}
+		solutions = new int[2][cells];
+		
+		for(int cell = 0; cell < cells; cell++)
+		{
+			Cell f = s.getCell(topology.getPosition(cell));
+			if(f.isSolved())
+			{
+				push(cell, f.getCurrentValue());
+			}
+		}
+	}
+	
+	/**
+	 * Enters a given. If the position already holds a given, it is replaced.
+	 *
+	 * @param p position of the cell
+	 * @param value the value of the cell
+	 * @throws IllegalArgumentException if there is no cell at p or the value is not a symbol of the type
+	 */
+	public void assume(Position p, int value)
+	{
+		int cell = cellIndex(p);
+		if(value < 0 || value >= symbols)
+		{
+			throw new IllegalArgumentException("value must be ∈ [0," + symbols + ") but is " + value);
+		}
+		if(values[cell] == value)
+		{
+			return;
+		}
+		if(values[cell] != EMPTY)
+		{
+			retract(p);
+		}
+		push(cell, value);
+		result = null;
+	}
+	
+	/**
+	 * Removes the given at the position, nothing happens if there is none. The givens entered after it are rolled
+	 * back and entered again, so retracting the latest given is cheapest.
+	 *
+	 * @param p position of the cell
+	 * @throws IllegalArgumentException if there is no cell at p
+	 */
+	public void retract(Position p)
+	{
+		int cell = cellIndex(p);
+		int index = assumptionIndex[cell];
+		if(index < 0)
+		{
+			return;
+		}
+		int top = numberOfAssumptions;
+		while(numberOfAssumptions > index)
+		{
+			pop();
+		}
+		for(int i = index + 1; i < top; i++)
+		{
+			push(assumedCells[i], assumedValues[i]); //writes below i, the entries still to replay stay intact
+		}
+		result = null;
+	}
+	
+	/**
+	 * Lets the ambiguity checks that take long continue on several threads, see {@link ParallelExactCoverSearch}.
+	 * The node limit of their budget is then split between the parts of the search tree, so a check can run out of
+	 * budget where the sequential search would not and the other way round, and the ambiguous position can differ.
+	 *
+	 * @param parallelSearch the parallel search to use or null to search sequentially
+	 */
+	public void setParallelSearch(ParallelExactCoverSearch parallelSearch)
+	{
+		this.parallelSearch = parallelSearch;
+	}
+	
+	/**
+	 * @param p position of the cell
+	 * @return the value assumed for the cell or {@link Cell#EMPTYVAL}
+	 */
+	public int getAssumption(Position p)
+	{
+		return values[cellIndex(p)];
+	}
+	
+	private int cellIndex(Position p)
+	{
+		int cell = p == null ? -1 : topology.getCellIndex(p);
+		if(cell < 0)
+		{
+			throw new IllegalArgumentException("there is no cell at " + p);
+		}
+		return cell;
+	}
+	
+	private void push(int cell, int value)
+	{
+		int i = numberOfAssumptions++;
+		int row = rows[cell * symbols + value];
+		assumedCells[i] = cell;
+		assumedValues[i] = value;
+		selected[i] = dlx.isSelectable(row);
+		if(selected[i])
+		{
+			dlx.selectRow(row);
+		}
+		else
+		{
+			conflicts++; //collides with an earlier given, there is no solution
+		}
+		values[cell] = value;
+		assumptionIndex[cell] = i;
+	}
+	
+	private void pop()
+	{
+		int i = --numberOfAssumptions;
+		int cell = assumedCells[i];
+		if(selected[i])
+		{
+			dlx.deselectRow(rows[cell * symbols + assumedValues[i]]);
+		}
+		else
+		{
+			conflicts--;
+		}
+		values[cell] = EMPTY;
+		assumptionIndex[cell] = -1;
+	}
+	
+	/* looks for up to 2 solutions, 2 are sufficient to indicate ambiguity */
+	private AmbiguityResult solve(SearchBudget budget)
+	{
+		if(result != null && result != AmbiguityResult.UNKNOWN)
+		{
+			return result;
+		}
+		if(conflicts > 0)
+		{
+			numberOfSolutions = 0;
+			result = AmbiguityResult.NO_SOLUTION; //two equal givens in one constraint
+			return result;
+		}
+		boolean split = parallelSearch != null && budget.getMaxNodes() > SEQUENTIAL_NODES;
+		numberOfSolutions = dlx.search(2, split ? new SearchBudget(SEQUENTIAL_NODES) : budget);
+		boolean aborted = dlx.isAborted();
+		for(int s = 0; s < numberOfSolutions; s++)
+		{
+			storeSolution(s);
+		}
+		if(split && aborted && numberOfSolutions < 2 && !budget.isExpired())
+		{
+			numberOfSolutions = parallelSearch.search(dlx, budget, SEQUENTIAL_NODES);
+			aborted = parallelSearch.isAborted();
+			for(int s = 0; s < numberOfSolutions; s++)
+			{
+				storeSolution(s, parallelSearch.getSolution(s));
+			}
+		}
+		if(numberOfSolutions > 1)
+		{
+			result = AmbiguityResult.AMBIGUOUS;
+		}
+		else if(aborted)
+		{
+			result = AmbiguityResult.UNKNOWN;
+		}
+		else
+		{
+			result = numberOfSolutions == 1 ? AmbiguityResult.UNIQUE : AmbiguityResult.NO_SOLUTION;
+		}
+		return result;
+	}
+	
+	/* copies solution s of the last search together with the givens */
+	private void storeSolution(int s)
+	{
+		int[] solution = solutions[s];
+		System.arraycopy(values, 0, solution, 0, values.length);
+		for(int i = 0; i < dlx.getSolutionSize(s); i++)
+		{
+			int id = dlx.getSolutionRow(s, i);
+			solution[id / symbols] = id % symbols;
+		}
+	}
+	
+	/* stores the row ids of a solution found elsewhere as solution s, together with the givens */
+	private void storeSolution(int s, int[] rowIds)
+	{
+		int[] solution = solutions[s];
+		System.arraycopy(values, 0, solution, 0, values.length);
+		for(int i = 0; i < rowIds.length; i++)
+		{
+			solution[rowIds[i] / symbols] = rowIds[i] % symbols;
+		}
+	}
+	
+	/**
+	 * Completes the givens to a random solution: the rows of every column are tried in random order, so the first
+	 * solution found is a random one. Without givens this is a random complete grid of the type.
+	 * Random orders occasionally run into long dead ends, so the search is restarted with a new order whenever it
+	 * exceeds its node budget, which doubles on every restart.
+	 *
+	 * @param random the random object that determines the order of the rows
+	 * @return a random solution of the current givens or null if there is none
+	 */
+	public PositionMap<Integer> getRandomSolution(Random random)
+	{
+		if(conflicts > 0)
+		{
+			return null;
+		}
+		dlx.setRandom(random);
+		for(long nodes = RANDOM_RESTART_NODES * values.length; ; nodes *= 2)
+		{
+			numberOfSolutions = dlx.search(1, new SearchBudget(nodes));
+			if(numberOfSolutions > 0 || !dlx.isAborted())
+			{
+				break;
+			}
+		}
+		dlx.setRandom(null);
+		result = null; //the solutions of the last ambiguity check are overwritten
+		if(numberOfSolutions == 0)
+		{
+			return null;
+		}
+		storeSolution(0);
+		return getSolutions();
+	}
+	
+	@Override
+	public int countSolutions(int limit)
+	{
+		if(limit <= 0 || conflicts > 0)
+		{
+			return 0;
+		}
+		return dlx.count(limit, SearchBudget.UNLIMITED);
+	}
+	
+	@Override
+	public int enumerateSolutions(int limit, final SolutionCallback callback)
+	{
+		if(limit <= 0 || conflicts > 0)
+		{
+			return 0;
+		}
+		final int[] solution = values.clone(); //cell id -> value, reused for all solutions
+		return dlx.search(limit, SearchBudget.UNLIMITED, new ArrayDancingLinks.SolutionListener()
+		{
+			@Override
+			public boolean solutionFound(int[] rows, int count)
+			{
+				for(int i = 0; i < count; i++)
+				{
+					solution[rows[i] / symbols] = rows[i] % symbols;
+				}
+				return callback.solutionFound(solution);
+			}
+		});
+	}
+	
+	@Override
+	public boolean hasSolution()
+	{
+		solve(SearchBudget.UNLIMITED);
+		return numberOfSolutions > 0;
+	}
+	
+	@Override
+	public PositionMap<Integer> getSolutions()
+	{
+		int[] solution = solutions[0];
+		PositionMap<Integer> pm = new PositionMap<>(cover.getSize());
+		for(int cell = 0; cell < solution.length; cell++)
+		{
+			pm.put(topology.getPosition(cell), solution[cell]);
+		}
+		return pm;
+	}
+	
+	@Override
+	public boolean isAmbiguous()
+	{
+		return solve(SearchBudget.UNLIMITED) == AmbiguityResult.AMBIGUOUS;
+	}
+	
+	@Override
+	public AmbiguityResult checkAmbiguity(SearchBudget budget)
+	{
+		return solve(budget);
+	}
+	
+	@Override
+	public Position getAmbiguousPos()
+	{
+		int[] first = solutions[0];
+		int[] second = solutions[1];
+		for(int cell = 0; cell < first.length; cell++)
+		{
+			if(first[cell] != second[cell])
+			{
+				return topology.getPosition(cell);
+			}
+		}
+		throw new IllegalStateException();
+	}
+}
@@ -0,0 +1,277 @@
+package de.sudoq.model.solverGenerator.FastSolver.DLX1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import de.sudoq.model.solverGenerator.FastSolver.SearchBudget;
+
+/**
+ * Looks for two exact covers of an {@link ArrayDancingLinks} on several threads, which is all an ambiguity check
+ * needs. The first levels of the search tree are split into subproblems, each with its own copy of the matrix, and
+ * the subproblems are searched as tasks of a {@link ForkJoinPool}.
+ *
+ * The result is the same for any number of threads and any timing. The node limit of the budget is split evenly
+ * between the subproblems, so whether a search finds two solutions, one, none or runs out of budget does not depend
+ * on the order in which the subproblems run. The share of a subproblem that completes early is not passed on.
+ * Solutions are ordered by the nodes their subproblem took to find them, as if all subproblems took one node after
+ * another in turn, and the first two in that order are returned. Every subproblem stops as soon as two solutions
+ * are known that come before anything it could still find, with threads that progress alike that is right after
+ * the second solution is found.
+ *
+ * Timeout and cancellation of the budget apply to all subproblems together.
+ * One search at a time per instance, the matrix passed in is not changed.
+ */
+public class ParallelExactCoverSearch
+{
+	/** number of subproblems the search tree is split into, unless it is smaller. Every one holds a copy of the
+	 * matrix. It does not depend on the number of processors, so that the shares of the node limit are the same
+	 * everywhere */
+	public static final int SUBPROBLEMS = 32;
+	
+	/* the split stops at this depth even if there are fewer subproblems, a lot of copies are made up there */
+	private static final int MAX_SPLIT_DEPTH = 12;
+	
+	private static ForkJoinPool sharedPool;
+	
+	/**
+	 * @return a pool with one thread per processor, shared by all searches that don't bring their own
+	 */
+	public static synchronized ForkJoinPool getSharedPool()
+	{
+		if(sharedPool == null)
+		{
+			sharedPool = new ForkJoinPool();
+		}
+		return sharedPool;
+	}
+	
+	private final ForkJoinPool pool;
+	
+	private int numberOfSolutions;
+	private final int[][] solutions = new int[2][];
+	private boolean aborted;
+	
+	/**
+	 * @param pool the pool the subproblems are searched on
+	 */
+	public ParallelExactCoverSearch(ForkJoinPool pool)
+	{
+		this.pool = pool;
+	}
+	
+	/**
+	 * Searches two solutions of the matrix in its current state.
+	 *
+	 * @param dlx the matrix, it is only copied
+	 * @param budget the limits of the whole search, see the class comment
+	 * @param visitedNodes nodes the caller already searched on the matrix, they count against the node limit
+	 * @return the number of solutions found, 0 to 2
+	 */
+	public int search(ArrayDancingLinks dlx, SearchBudget budget, long visitedNodes)
+	{
+		List<Subproblem> subproblems = split(dlx);
+		final int n = subproblems.size();
+		//small enough for the keys of Progress not to overflow
+		long share = Math.max(1, Math.min((budget.getMaxNodes() - visitedNodes) / n, Long.MAX_VALUE / n - 1));
+		Progress progress = new Progress(n);
+		for(int i = 0; i < n; i++)
+		{
+			subproblems.get(i).prepare(i, share, budget, progress);
+		}
+		final List<Subproblem> tasks = subproblems;
+		pool.invoke(new RecursiveAction()
+		{
+			@Override
+			protected void compute()
+			{
+				invokeAll(tasks);
+			}
+		});
+		
+		numberOfSolutions = 0;
+		while(numberOfSolutions < 2 && progress.solutions[numberOfSolutions] != null)
+		{
+			solutions[numberOfSolutions] = progress.solutions[numberOfSolutions];
+			numberOfSolutions++;
+		}
+		aborted = false;
+		for(Subproblem p : subproblems)
+		{
+			aborted |= p.aborted;
+		}
+		aborted &= numberOfSolutions < 2; //two solutions are a result even if other subproblems ran out of budget
+		return numberOfSolutions;
+	}
+	
+	/**
+	 * @return whether the last search found less than two solutions and ran out of budget in a subproblem, its
+	 *         result may then be incomplete
+	 */
+	public boolean isAborted()
+	{
+		return aborted;
+	}
+	
+	/**
+	 * @param s index of the solution, smaller than the result of the last search
+	 * @return the row ids of solution s that were not selected before the search
+	 */
+	public int[] getSolution(int s)
+	{
+		return solutions[s];
+	}
+	
+	/* expands the search tree level by level in the order of the sequential search until there are enough leaves.
+	 * A leaf is replaced by its branches in place, so the order is kept even if only part of a level is expanded.
+	 * Branches without rows are dropped, leaves that are already solved are kept as they are */
+	private List<Subproblem> split(ArrayDancingLinks dlx)
+	{
+		List<Subproblem> leaves = new ArrayList<>();
+		leaves.add(new Subproblem(new ArrayDancingLinks(dlx), new int[0]));
+		for(int depth = 0; depth < MAX_SPLIT_DEPTH && leaves.size() < SUBPROBLEMS; depth++)
+		{
+			List<Subproblem> next = new ArrayList<>();
+			boolean expanded = false;
+			for(int l = 0; l < leaves.size(); l++)
+			{
+				Subproblem leaf = leaves.get(l);
+				int[] rows = next.size() + leaves.size() - l < SUBPROBLEMS ? leaf.dlx.getBranchRows() : null;
+				if(rows == null)
+				{
+					next.add(leaf);
+					continue;
+				}
+				expanded = true;
+				for(int i = 0; i < rows.length; i++)
+				{
+					int[] path = new int[leaf.path.length + 1];
+					System.arraycopy(leaf.path, 0, path, 0, leaf.path.length);
+					path[leaf.path.length] = leaf.dlx.getRowId(rows[i]);
+					//the last branch takes over the matrix of its parent, the others need a copy before it changes
+					ArrayDancingLinks child = i == rows.length - 1 ? leaf.dlx : new ArrayDancingLinks(leaf.dlx);
+					child.selectRow(rows[i]);
+					next.add(new Subproblem(child, path));
+				}
+			}
+			leaves = next;
+			if(!expanded)
+			{
+				break;
+			}
+		}
+		return leaves;
+	}
+	
+	/* the two first solutions found so far. A solution that subproblem i finds with its t-th node gets the key
+	 * t * n + i, its position if all n subproblems took one node after another in turn */
+	private static final class Progress
+	{
+		private final int subproblems;
+		
+		private final long[] keys = {Long.MAX_VALUE, Long.MAX_VALUE};
+		private final int[][] solutions = new int[2][];
+		private volatile long second = Long.MAX_VALUE; // key of the second solution
+		
+		Progress(int subproblems)
+		{
+			this.subproblems = subproblems;
+		}
+		
+		long key(long nodes, int index)
+		{
+			return nodes * subproblems + index;
+		}
+		
+		synchronized void add(long key, int[] solution)
+		{
+			if(key < keys[0])
+			{
+				keys[1] = keys[0];
+				solutions[1] = solutions[0];
+				keys[0] = key;
+				solutions[0] = solution;
+			}
+			else if(key < keys[1])
+			{
+				keys[1] = key;
+				solutions[1] = solution;
+			}
+			second = keys[1];
+		}
+		
+		/* true if two solutions come before the key, nothing found from there on can change the result */
+		boolean isDecided(long key)
+		{
+			return key > second;
+		}
+	}
+	
+	/* a branch of the search tree: the matrix with the rows on the path to it selected */
+	private static final class Subproblem extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private final ArrayDancingLinks dlx;
+		private final int[] path;
+		
+		private int index;
+		private long share;
+		private SearchBudget budget;
+		private Progress progress;
+		
+		private boolean aborted;   // ran out of budget
+		private boolean stopped;   // stopped because two earlier solutions are known
+		
+		Subproblem(ArrayDancingLinks dlx, int[] path)
+		{
+			this.dlx = dlx;
+			this.path = path;
+		}
+		
+		void prepare(int index, long share, SearchBudget budget, Progress progress)
+		{
+			this.index = index;
+			this.share = share;
+			this.budget = budget;
+			this.progress = progress;
+		}
+		
+		@Override
+		protected void compute()
+		{
+			if(progress.isDecided(progress.key(1, index)))
+			{
+				return;
+			}
+			final SearchBudget limits = budget;
+			SearchBudget checked = new SearchBudget(share)
+			{
+				@Override
+				public boolean isExhausted(long nodes)
+				{
+					if(progress.isDecided(progress.key(nodes, index)))
+					{
+						stopped = true;
+						return true;
+					}
+					return nodes > share || nodes % CHECK_INTERVAL == 0 && limits.isExpired();
+				}
+			};
+			dlx.search(2, checked, new ArrayDancingLinks.SolutionListener()
+			{
+				@Override
+				public boolean solutionFound(int[] rows, int count)
+				{
+					int[] solution = new int[path.length + count];
+					System.arraycopy(path, 0, solution, 0, path.length);
+					System.arraycopy(rows, 0, solution, path.length, count);
+					progress.add(progress.key(dlx.getVisitedNodes(), index), solution);
+					return true;
+				}
+			});
+			aborted = dlx.isAborted() && !stopped;
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package de.sudoq.model.solverGenerator.FastSolver.DLX1;
+
+import java.util.Random;
+
+import de.sudoq.model.sudoku.PositionMap;
+import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuType;
+
+/**
+ * Produces random complete grids by a randomized exact cover search (see
+ * {@link IncrementalDLXSolver#getRandomSolution(Random)}). The column with the fewest rows is chosen as usual, only
+ * its rows are tried in random order. Unlike defining random cells until they have a solution, the search never
+ * works on a clue set without solution. The same seed yields the same grid.
+ */
+public class RandomGridGenerator
+{
+	/**
+	 * @param type a type that can be expressed as exact cover, see {@link SudokuExactCover#isExact()}
+	 * @param seed seed of the random order
+	 * @return a complete grid, i.e. a value for every position of the type
+	 * @throws IllegalArgumentException if the type can't be expressed as exact cover
+	 */
+	public static PositionMap<Integer> createGrid(SudokuType type, long seed)
+	{
+		return createGrid(type, new Random(seed));
+	}
+	
+	/**
+	 * @param type a type that can be expressed as exact cover, see {@link SudokuExactCover#isExact()}
+	 * @param random the random object that determines the order of the rows
+	 * @return a complete grid, i.e. a value for every position of the type
+	 * @throws IllegalArgumentException if the type can't be expressed as exact cover
+	 */
+	public static PositionMap<Integer> createGrid(SudokuType type, Random random)
+	{
+		return new IncrementalDLXSolver(new Sudoku(type)).getRandomSolution(random);
+	}
+}
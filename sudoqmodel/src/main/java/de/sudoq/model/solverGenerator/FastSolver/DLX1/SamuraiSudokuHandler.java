@@ -9,72 +9,36 @@ public class SamuraiSudokuHandler extends FastSudokuHandler
 		super(boardSize, solutions);
 	}
 	
-	protected int[][] parseBoard(List<DancingLinks.DancingNode> answer)
+	/* coordinates of every cell, cells are numbered as in {@code DLXSudokuSamurai.getIdx} */
+	private static final int[][] coordinates = new int[369][];
+	
+	static
+	{
+		for(int i = 0; i < coordinates.length; i++)
+		{
+			coordinates[i] = getCoordinates(i);
+		}
+	}
+	
+	@Override
+	protected void parseBoard(List<DancingLinks.DancingNode> answer, int[][] result)
 	{
 		/*
 		 * every row in the table we passed to the dancing links algorithm
 		 * represents a possible candidate at a position in the sudoku.
 		 * The `rows` of linked nodes in the output represent the actual candidates in the solution.
-		 * The first `#cells` columns are constraints that require for every cell 1 to `#cells`
-		 * that it is filled with a number.
-		 * After that come the row/col/block constraints, each taking up 9 columns:
-		 *  each column requiring one symbol to be contained in the row/col/block.
-		 * From the first part, we infer the position (by inverting {@Code DLXSudokuSamurai.getIndex})
-		 * From the second part we infer the value (all numbers have their constraints in the same order -> modulo 9)
+		 * Rows are numbered by {@Code DLXSudokuSamurai.getIdx}: 9 consecutive rows per cell, one for each symbol.
+		 * From the row index we infer the position (by inverting {@Code DLXSudokuSamurai.getIndex})
+		 * and the value (modulo 9).
 		 */
-		
-		int[][] result = new int[size][size];
 		for(DancingLinks.DancingNode n : answer)
 		{
-			DancingLinks.DancingNode rcNode = n;
-			
-			/*
-			 * We supply the dancing links algorithm with a table but get back a linked list that has no leftmost node ecause you can always go left
-			 *  the columns are numbered starting from 0 to ...
-			 *  so in order go get to the leftmost node we cycle through and take the node with the minimum column name
-			 */
-			int min = Integer.parseInt(rcNode.C.name);
-			for(DancingLinks.DancingNode tmp = n.R; tmp != n; tmp = tmp.R)
-			{
-				int val = Integer.parseInt(tmp.C.name);
-				if(val < min)
-				{
-					min = val;
-					rcNode = tmp;
-				}
-			}
-			//infer coordinates from col-index
-			int ans1 = Integer.parseInt(rcNode.C.name);
-			int[] rc = getCoordinates(ans1);
-			int r = rc[0];
-			int c = rc[1];
-			//infer value from col-index of next column referencing the position
-			int ans2 = Integer.parseInt(rcNode.R.C.name);
-			
-			ans2 -= 369; //subtract number of cells (here it is a multiple of #cells so probably unnecessary but makes it clearer)
-			int num = (ans2 % 9) + 1; //add one -> [1,9]
-			result[r][c] = num;
+			int[] rc = coordinates[n.row / 9];
+			result[rc[0]][rc[1]] = n.row % 9 + 1; //add one -> [1,9]
 		}
-		//printResult(result);
-		//System.out.println();
-        /*int [][] check = new int[21][21];
-        for (int i = 0; i < 369; i++) {
-            int[] rc = getCoordinates(i);
-            check[rc[0]][rc[1]] = i;
-        }
-        for (int[] row : check) {
-            for  (int e : row) {
-                System.out.print( e != 0 ? String.format("%1$4s ", e)
-                        : "     " );
-            }
-            System.out.println();
-        }
-
-        System.exit(9);*/
-		return result;
 	}
 	
-	private int[] getCoordinates(int i)
+	private static int[] getCoordinates(int i)
 	{
 		if(i < 0)
 		{
@@ -117,7 +81,7 @@ public class SamuraiSudokuHandler extends FastSudokuHandler
 		}
 	}
 	
-	private int[] getCoordinates9x9(int i, int offsetR, int offsetC)
+	private static int[] getCoordinates9x9(int i, int offsetR, int offsetC)
 	{
 		return new int[] {offsetR + i / 9, offsetC + i % 9};
 	}
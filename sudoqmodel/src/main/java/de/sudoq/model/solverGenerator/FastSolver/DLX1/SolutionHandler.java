@@ -22,27 +22,22 @@ class SudokuHandler implements SolutionHandler
 	protected int[][] parseBoard(List<DancingNode> answer)
 	{
 		int[][] result = new int[size][size];
+		parseBoard(answer, result);
+		return result;
+	}
+	
+	/**
+	 * Writes the values of answer into result. Every row of the cover grid stands for a candidate,
+	 * row (r * size + c) * size + num - 1 (0-based r, c) places num at (r,c).
+	 * Cells not in answer are left untouched.
+	 */
+	protected void parseBoard(List<DancingNode> answer, int[][] result)
+	{
 		for(DancingNode n : answer)
 		{
-			DancingNode rcNode = n;
-			int min = Integer.parseInt(rcNode.C.name);
-			for(DancingNode tmp = n.R; tmp != n; tmp = tmp.R)
-			{
-				int val = Integer.parseInt(tmp.C.name);
-				if(val < min)
-				{
-					min = val;
-					rcNode = tmp;
-				}
-			}
-			int ans1 = Integer.parseInt(rcNode.C.name);
-			int ans2 = Integer.parseInt(rcNode.R.C.name);
-			int r = ans1 / size;
-			int c = ans1 % size;
-			int num = (ans2 % size) + 1;
-			result[r][c] = num;
+			int cell = n.row / size;
+			result[cell / size][cell % size] = n.row % size + 1;
 		}
-		return result;
 	}
 	
 	public SudokuHandler(int boardSize)
@@ -58,11 +53,11 @@ class DefaultHandler implements SolutionHandler
 		for(DancingNode n : answer)
 		{
 			String ret = "";
-			ret += n.C.name + " ";
+			ret += n.C.index + " ";
 			DancingNode tmp = n.R;
 			while(tmp != n)
 			{
-				ret += tmp.C.name + " ";
+				ret += tmp.C.index + " ";
 				tmp = tmp.R;
 			}
 			//System.out.println(ret);
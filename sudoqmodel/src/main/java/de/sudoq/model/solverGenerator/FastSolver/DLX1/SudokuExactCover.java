@@ -0,0 +1,166 @@
+package de.sudoq.model.solverGenerator.FastSolver.DLX1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.sudoq.model.sudoku.Position;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTopology;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuType;
+
+/**
+ * Exact cover layout of a {@link SudokuType}, compiled from the unique constraints of its {@link SudokuTopology}.
+ * Columns: one per cell (cell needs a value), one per constraint and symbol (symbol appears in constraint).
+ * The column of constraint k and symbol v is {@code numberOfCells + k * numberOfSymbols + v}.
+ * Constraint columns are primary only if the constraint has as many cells as there are symbols,
+ * otherwise a symbol may be missing and the columns are secondary.
+ * Rows are candidates, row (cell, v) has the id {@code cell * numberOfSymbols + v}.
+ *
+ * Cells are the cell ids of the topology. Constraints covering the same cells are only kept once, so the constraint
+ * ids of the layout are its own.
+ *
+ * Instances are immutable and obtained via {@link SudokuType#getExactCover()}, which caches them like the topology.
+ */
+public final class SudokuExactCover
+{
+	private final SudokuTopology topology;
+	private final Position size;
+	private final int numberOfSymbols;
+	private final int numberOfCells;
+	private final int[][] constraintCells;
+	private final int[][] cellConstraints;
+	private final boolean[] primary;    // per constraint
+	private final boolean exact;
+	
+	/**
+	 * Compiles the layout of the type. Use {@link SudokuType#getExactCover()} instead, which caches it.
+	 *
+	 * @param type a SudokuType
+	 */
+	public SudokuExactCover(SudokuType type)
+	{
+		topology = type.getTopology();
+		size = type.getSize();
+		numberOfSymbols = type.getNumberOfSymbols();
+		numberOfCells = topology.getNumberOfCells();
+		
+		/* unique constraints as sorted lists of cell ids, without duplicates */
+		boolean allUnique = true;
+		List<int[]> unique = new ArrayList<>();
+		for(int k = 0; k < topology.getNumberOfConstraints(); k++)
+		{
+			if(!topology.isUnique(k))
+			{
+				allUnique = false;
+				continue;
+			}
+			int[] ids = topology.getCellsOfConstraint(k).clone();
+			Arrays.sort(ids);
+			boolean duplicate = false;
+			for(int[] other : unique)
+			{
+				duplicate |= Arrays.equals(ids, other);
+			}
+			if(!duplicate)
+			{
+				unique.add(ids);
+			}
+		}
+		exact = allUnique;
+		constraintCells = unique.toArray(new int[unique.size()][]);
+		
+		primary = new boolean[constraintCells.length];
+		int[] perCell = new int[numberOfCells];
+		for(int k = 0; k < constraintCells.length; k++)
+		{
+			primary[k] = constraintCells[k].length == numberOfSymbols;
+			for(int cell : constraintCells[k])
+			{
+				perCell[cell]++;
+			}
+		}
+		cellConstraints = new int[numberOfCells][];
+		for(int cell = 0; cell < numberOfCells; cell++)
+		{
+			cellConstraints[cell] = new int[perCell[cell]];
+			perCell[cell] = 0;
+		}
+		for(int k = 0; k < constraintCells.length; k++)
+		{
+			for(int cell : constraintCells[k])
+			{
+				cellConstraints[cell][perCell[cell]++] = k;
+			}
+		}
+	}
+	
+	/**
+	 * @return true if all constraints are unique constraints i.e. the exact cover describes the type completely
+	 */
+	public boolean isExact()
+	{
+		return exact;
+	}
+	
+	public Position getSize()
+	{
+		return size;
+	}
+	
+	/**
+	 * @return the topology whose cell ids the layout uses, to map cells to positions and back
+	 */
+	public SudokuTopology getTopology()
+	{
+		return topology;
+	}
+	
+	public int getNumberOfSymbols()
+	{
+		return numberOfSymbols;
+	}
+	
+	public int getNumberOfCells()
+	{
+		return numberOfCells;
+	}
+	
+	public int getNumberOfConstraints()
+	{
+		return constraintCells.length;
+	}
+	
+	public int getNumberOfColumns()
+	{
+		return numberOfCells + constraintCells.length * numberOfSymbols;
+	}
+	
+	/**
+	 * Returns the constraints containing a cell. The returned array must not be modified.
+	 */
+	public int[] getConstraintsOfCell(int cell)
+	{
+		return cellConstraints[cell];
+	}
+	
+	/**
+	 * Returns the cells of a constraint. The returned array must not be modified.
+	 */
+	public int[] getCellsOfConstraint(int constraint)
+	{
+		return constraintCells[constraint];
+	}
+	
+	public boolean isPrimary(int constraint)
+	{
+		return primary[constraint];
+	}
+	
+	/**
+	 * @return the column of the specified constraint and symbol
+	 */
+	public int getColumn(int constraint, int symbol)
+	{
+		return numberOfCells + constraint * numberOfSymbols + symbol;
+	}
+}
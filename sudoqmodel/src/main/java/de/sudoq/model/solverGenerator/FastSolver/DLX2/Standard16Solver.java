@@ -1,6 +1,10 @@
 package de.sudoq.model.solverGenerator.FastSolver.DLX2;
 
+import de.sudoq.model.solverGenerator.FastSolver.AmbiguityResult;
 import de.sudoq.model.solverGenerator.FastSolver.FastSolver;
+import de.sudoq.model.solverGenerator.FastSolver.FastSolverFactory;
+import de.sudoq.model.solverGenerator.FastSolver.SearchBudget;
+import de.sudoq.model.solverGenerator.FastSolver.SolutionCallback;
 import de.sudoq.model.sudoku.Cell;
 import de.sudoq.model.sudoku.Position;
 import de.sudoq.model.sudoku.PositionMap;
@@ -72,6 +76,19 @@ public class Standard16Solver implements FastSolver
 		return hexadoku.solutions.size() >= 2;
 	}
 	
+	/**
+	 * The budget is ignored, the search always runs to completion.
+	 */
+	@Override
+	public AmbiguityResult checkAmbiguity(SearchBudget budget)
+	{
+		if(isAmbiguous())
+		{
+			return AmbiguityResult.AMBIGUOUS;
+		}
+		return hasSolution() ? AmbiguityResult.UNIQUE : AmbiguityResult.NO_SOLUTION;
+	}
+	
 	@Override
 	public Position getAmbiguousPos()
 	{
@@ -90,4 +107,19 @@ public class Standard16Solver implements FastSolver
 		}
 		throw new IllegalStateException();
 	}
+	
+	/**
+	 * This solver stops at the second solution, counting is left to the solver of {@link FastSolverFactory}.
+	 */
+	@Override
+	public int countSolutions(int limit)
+	{
+		return FastSolverFactory.getSolver(s).countSolutions(limit);
+	}
+	
+	@Override
+	public int enumerateSolutions(int limit, SolutionCallback callback)
+	{
+		return FastSolverFactory.getSolver(s).enumerateSolutions(limit, callback);
+	}
 }
@@ -4,29 +4,32 @@ import de.sudoq.model.solverGenerator.FastSolver.BranchAndBound.FastBranchAndBou
 import de.sudoq.model.sudoku.Position;
 import de.sudoq.model.sudoku.Sudoku;
 
+/**
+ * Not thread safe, every thread needs its own instance.
+ */
 public class FastAmbiguityChecker
 {
-	private static Position FirstBranchPosition;
+	private Position firstBranchPosition;
 	
 	/**
 	 * Determines whether there are multiple solutions to the passed sudoku.
 	 * @param sudoku Sudoku object to be tested for multiple solutions
 	 * @return true if there are several solutions false otherwise
 	 */
-	public static boolean isAmbiguous(Sudoku sudoku)
+	public boolean isAmbiguous(Sudoku sudoku)
 	{
 		FastBranchAndBound solver = new FastBranchAndBound(sudoku);
 		boolean result = solver.solveAll();
-		FirstBranchPosition = solver.getSolverSudoku().hasBranch() ? solver.getSolverSudoku().getFirstBranchPosition() : null; //lest old values persist
+		firstBranchPosition = solver.getSolverSudoku().hasBranch() ? solver.getSolverSudoku().getFirstBranchPosition() : null; //lest old values persist
 		return result && solver.severalSolutionsExist();
 	}
 	
-	public static boolean isAmbiguous2(Sudoku sudoku)
+	public boolean isAmbiguous2(Sudoku sudoku)
 	{
 		FastBranchAndBound solver = new FastBranchAndBound(sudoku);
 		//looking for first solution
 		boolean result = solver.solveAll2();
-		FirstBranchPosition = solver.getSolverSudoku().hasBranch() ? solver.getSolverSudoku().getFirstBranchPosition() : null; //lest old values persist
+		firstBranchPosition = solver.getSolverSudoku().hasBranch() ? solver.getSolverSudoku().getFirstBranchPosition() : null; //lest old values persist
 		return result && solver.severalSolutionsExist();
 	}
 	
@@ -36,8 +39,8 @@ public class FastAmbiguityChecker
 	 *
 	 * @return position of the first branchingPoint, i.e. where backtracking was first applied or `null` if last call to `isAmbiguous` was unsuccessful.
 	 */
-	public static Position getFirstBranchPosition()
+	public Position getFirstBranchPosition()
 	{
-		return FirstBranchPosition;
+		return firstBranchPosition;
 	}
 }
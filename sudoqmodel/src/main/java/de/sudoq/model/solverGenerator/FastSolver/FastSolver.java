@@ -17,9 +17,36 @@ public interface FastSolver
 	boolean isAmbiguous();
 	
 	/**
-	 * assumes prior call of `isAmbiguous`, undef behaviour if not ambiguous
+	 * Looks for a second solution within the given budget.
+	 * Implementations that can't be interrupted ignore the budget and never return UNKNOWN.
+	 *
+	 * @param budget limits of the search
+	 * @return UNIQUE, AMBIGUOUS or NO_SOLUTION if the search completed, UNKNOWN if the budget ran out first
+	 */
+	AmbiguityResult checkAmbiguity(SearchBudget budget);
+	
+	/**
+	 * assumes prior call of `isAmbiguous` or `checkAmbiguity`, undef behaviour if not ambiguous
 	 *
 	 * @return a Position that is ambiguous.
 	 */
 	Position getAmbiguousPos();
+	
+	/**
+	 * Counts the solutions, the search stops once limit many are found.
+	 *
+	 * @param limit maximum number of solutions to count
+	 * @return the number of solutions, at most limit
+	 */
+	int countSolutions(int limit);
+	
+	/**
+	 * Passes the solutions to the callback as they are found, until limit many are found, the callback returns false
+	 * or there are no more. All solutions are passed in the same array.
+	 *
+	 * @param limit maximum number of solutions to enumerate
+	 * @param callback receives every solution
+	 * @return the number of solutions passed to the callback
+	 */
+	int enumerateSolutions(int limit, SolutionCallback callback);
 }
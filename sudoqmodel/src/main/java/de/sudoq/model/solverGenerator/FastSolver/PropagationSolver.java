@@ -0,0 +1,296 @@
+package de.sudoq.model.solverGenerator.FastSolver;
+
+import de.sudoq.model.solverGenerator.solver.SolverSudoku;
+import de.sudoq.model.sudoku.Position;
+import de.sudoq.model.sudoku.PositionMap;
+import de.sudoq.model.sudoku.Sudoku;
+
+/**
+ * Solver that only answers "solvable / unique or not, and the grid". It works directly on the bitmask state of a
+ * {@link SolverSudoku}: naked singles, hidden singles and a search that branches on a cell with the fewest candidates.
+ * There are no helpers, no complexity values and no derivations, and branches are undone through the undo log of the
+ * SolverSudoku.
+ *
+ * All arrays are allocated in the constructor, the search itself does not create objects. Only an enumeration of
+ * solutions (see {@link #enumerateSolutions(int, SolutionCallback)}) allocates the one array it passes them in.
+ * Not thread safe, every thread needs its own instance.
+ */
+public class PropagationSolver implements FastSolver
+{
+	private final SolverSudoku sudoku;
+	private final int symbols;
+	private final int[] givens; // cell id -> given value or Cell.EMPTYVAL
+	
+	/* unique constraints that contain every symbol exactly once, only in those a single place is a hidden single */
+	private final int[] completeUnits;
+	
+	/* the open branches of the search: cell id and candidate */
+	private final int[] branchCells;
+	private final int[] branchCandidates;
+	private int depth;
+	
+	/* version of the sudoku at the last complete scan for hidden singles, see SolverSudoku#getVersion() */
+	private long checkedVersion;
+	
+	private AmbiguityResult result; // null until searched, UNKNOWN searches are repeated
+	private int numberOfSolutions;
+	private final int[][] solutions;
+	private boolean aborted; // did the last search run out of budget
+	
+	public PropagationSolver(Sudoku s)
+	{
+		sudoku = new SolverSudoku(s);
+		symbols = sudoku.getSudokuType().getNumberOfSymbols();
+		
+		int cells = sudoku.getNumberOfCells();
+		givens = new int[cells];
+		for(int cell = 0; cell < cells; cell++)
+		{
+			givens[cell] = s.getCell(sudoku.getPosition(cell)).getCurrentValue();
+		}
+		
+		int[] units = new int[sudoku.getNumberOfConstraints()];
+		int n = 0;
+		for(int c = 0; c < units.length; c++)
+		{
+			if(sudoku.isUniqueConstraint(c) && sudoku.getTopology().hasCellMasks(c)
+			   && sudoku.getCellsOfConstraint(c).length == symbols)
+			{
+				units[n++] = c;
+			}
+		}
+		completeUnits = new int[n];
+		System.arraycopy(units, 0, completeUnits, 0, n);
+		
+		branchCells = new int[cells];
+		branchCandidates = new int[cells];
+		solutions = new int[2][cells];
+	}
+	
+	/* looks for up to 2 solutions, 2 are sufficient to indicate ambiguity */
+	private AmbiguityResult solve(SearchBudget budget)
+	{
+		if(result != null && result != AmbiguityResult.UNKNOWN)
+		{
+			return result;
+		}
+		numberOfSolutions = search(2, budget, null);
+		
+		if(numberOfSolutions > 1)
+		{
+			result = AmbiguityResult.AMBIGUOUS;
+		}
+		else if(aborted)
+		{
+			result = AmbiguityResult.UNKNOWN;
+		}
+		else
+		{
+			result = numberOfSolutions == 1 ? AmbiguityResult.UNIQUE : AmbiguityResult.NO_SOLUTION;
+		}
+		return result;
+	}
+	
+	/*
+	 * looks for up to limit solutions. Without callback they are stored in solutions (so limit is at most 2),
+	 * otherwise they are passed to the callback in one reused array
+	 */
+	private int search(int limit, SearchBudget budget, SolutionCallback callback)
+	{
+		int found = 0;
+		aborted = false;
+		int[] buffer = callback == null ? null : new int[givens.length];
+		
+		//start over from the givens, solutions entered outside of branches are not undone by the sudoku
+		for(int cell = 0; cell < givens.length; cell++)
+		{
+			sudoku.getCellById(cell).setCurrentValue(givens[cell], false);
+		}
+		if(sudoku.getSudokuType().checkSudoku(sudoku))
+		{
+			sudoku.resetCandidates();
+			depth = 0;
+			long nodes = 0;
+			boolean consistent = propagate();
+			while(true)
+			{
+				if(consistent && sudoku.getNumberOfUnsolvedCells() == 0)
+				{
+					int[] solution = callback == null ? solutions[found] : buffer;
+					for(int cell = 0; cell < givens.length; cell++)
+					{
+						solution[cell] = sudoku.getCellById(cell).getCurrentValue();
+					}
+					found++;
+					boolean proceed = callback == null || callback.solutionFound(solution);
+					if(found == limit || !proceed)
+					{
+						break;
+					}
+					consistent = false; //look for the next one
+				}
+				
+				if(consistent)
+				{
+					if(budget.isExhausted(++nodes))
+					{
+						aborted = true;
+						break;
+					}
+					int cell = sudoku.getCellWithFewestCandidates();
+					branch(cell, Integer.numberOfTrailingZeros(sudoku.getCandidateMask(cell)));
+				}
+				else if(!backtrack())
+				{
+					break;
+				}
+				consistent = propagate();
+			}
+		}
+		return found;
+	}
+	
+	private void branch(int cell, int candidate)
+	{
+		branchCells[depth] = cell;
+		branchCandidates[depth] = candidate;
+		depth++;
+		sudoku.startNewBranch(sudoku.getPosition(cell), candidate);
+	}
+	
+	/* discards branches until one can continue with a later candidate, false if the search space is exhausted */
+	private boolean backtrack()
+	{
+		while(depth > 0)
+		{
+			depth--;
+			int cell = branchCells[depth];
+			int candidate = branchCandidates[depth];
+			sudoku.killCurrentBranch();
+			int laterCandidates = sudoku.getCandidateMask(cell) & (-2 << candidate);
+			if(laterCandidates != 0)
+			{
+				branch(cell, Integer.numberOfTrailingZeros(laterCandidates));
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/* enters naked and hidden singles until there are none left, false if a cell runs out of candidates */
+	private boolean propagate()
+	{
+		while(!sudoku.hasCellWithoutCandidates())
+		{
+			int cell = sudoku.nextNakedSingle(0);
+			if(cell >= 0)
+			{
+				sudoku.setSolution(sudoku.getPosition(cell), Integer.numberOfTrailingZeros(sudoku.getCandidateMask(cell)));
+			}
+			else if(!enterHiddenSingles())
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/* enters the symbols that have a single place in a complete unit, only units changed since the last scan are looked at */
+	private boolean enterHiddenSingles()
+	{
+		long scanVersion = sudoku.getVersion();
+		boolean found = false;
+		for(int unit : completeUnits)
+		{
+			if(sudoku.getConstraintVersion(unit) <= checkedVersion)
+			{
+				continue;
+			}
+			int[] cells = sudoku.getCellsOfConstraint(unit);
+			for(int symbol = 0; symbol < symbols; symbol++)
+			{
+				int places = sudoku.getPlaces(unit, symbol);
+				if(places != 0 && (places & places - 1) == 0)
+				{
+					sudoku.setSolution(sudoku.getPosition(cells[Integer.numberOfTrailingZeros(places)]), symbol);
+					if(sudoku.hasCellWithoutCandidates())
+					{
+						return true;
+					}
+					found = true;
+				}
+			}
+		}
+		checkedVersion = scanVersion;
+		return found;
+	}
+	
+	@Override
+	public int countSolutions(int limit)
+	{
+		return enumerateSolutions(limit, new SolutionCallback()
+		{
+			@Override
+			public boolean solutionFound(int[] solution)
+			{
+				return true;
+			}
+		});
+	}
+	
+	@Override
+	public int enumerateSolutions(int limit, SolutionCallback callback)
+	{
+		if(limit <= 0)
+		{
+			return 0;
+		}
+		return search(limit, SearchBudget.UNLIMITED, callback);
+	}
+	
+	@Override
+	public boolean hasSolution()
+	{
+		solve(SearchBudget.UNLIMITED);
+		return numberOfSolutions > 0;
+	}
+	
+	@Override
+	public PositionMap<Integer> getSolutions()
+	{
+		int[] solution = solutions[0];
+		PositionMap<Integer> pm = new PositionMap<>(sudoku.getSudokuType().getSize());
+		for(int cell = 0; cell < solution.length; cell++)
+		{
+			pm.put(sudoku.getPosition(cell), solution[cell]);
+		}
+		return pm;
+	}
+	
+	@Override
+	public boolean isAmbiguous()
+	{
+		return solve(SearchBudget.UNLIMITED) == AmbiguityResult.AMBIGUOUS;
+	}
+	
+	@Override
+	public AmbiguityResult checkAmbiguity(SearchBudget budget)
+	{
+		return solve(budget);
+	}
+	
+	@Override
+	public Position getAmbiguousPos()
+	{
+		int[] first = solutions[0];
+		int[] second = solutions[1];
+		for(int cell = 0; cell < first.length; cell++)
+		{
+			if(first[cell] != second[cell])
+			{
+				return sudoku.getPosition(cell);
+			}
+		}
+		throw new IllegalStateException();
+	}
+}
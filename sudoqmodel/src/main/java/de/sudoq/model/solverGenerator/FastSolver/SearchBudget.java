@@ -0,0 +1,66 @@
+package de.sudoq.model.solverGenerator.FastSolver;
+
+/**
+ * Limits the effort of a single search: a maximum number of search nodes (rows tried),
+ * a wall clock deadline and a {@link CancellationToken}. Each of them is optional.
+ *
+ * The deadline is fixed when the budget is created, so a budget shared by several searches limits their total time,
+ * whereas the node limit applies to every search on its own.
+ */
+public class SearchBudget
+{
+	/** no limits at all, the search always runs to completion */
+	public static final SearchBudget UNLIMITED = new SearchBudget(Long.MAX_VALUE, 0, null);
+	
+	/** number of nodes between two checks of the deadline and the token */
+	public static final int CHECK_INTERVAL = 256;
+	
+	private final long maxNodes;
+	private final long deadline; // System.nanoTime() based, 0 if there is none
+	private final CancellationToken token;
+	
+	/**
+	 * @param maxNodes maximum number of search nodes, Long.MAX_VALUE for no limit
+	 * @param timeoutMillis time in milliseconds from now on, after which searches give up. 0 for no limit
+	 * @param token token to cancel the search, may be null
+	 */
+	public SearchBudget(long maxNodes, long timeoutMillis, CancellationToken token)
+	{
+		this.maxNodes = maxNodes;
+		this.deadline = timeoutMillis > 0 ? System.nanoTime() + timeoutMillis * 1000000 : 0;
+		this.token = token;
+	}
+	
+	/**
+	 * Budget with a node limit only.
+	 */
+	public SearchBudget(long maxNodes)
+	{
+		this(maxNodes, 0, null);
+	}
+	
+	public long getMaxNodes()
+	{
+		return maxNodes;
+	}
+	
+	/**
+	 * @return true if the deadline passed or the token was cancelled
+	 */
+	public boolean isExpired()
+	{
+		return token != null && token.isCancelled()
+		       || deadline != 0 && System.nanoTime() - deadline > 0;
+	}
+	
+	/**
+	 * Called by searches for every node.
+	 *
+	 * @param nodes number of nodes visited so far, including the current one
+	 * @return true if the search has to stop
+	 */
+	public boolean isExhausted(long nodes)
+	{
+		return nodes > maxNodes || nodes % CHECK_INTERVAL == 0 && isExpired();
+	}
+}
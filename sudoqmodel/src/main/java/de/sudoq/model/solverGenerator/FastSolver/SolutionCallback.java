@@ -0,0 +1,15 @@
+package de.sudoq.model.solverGenerator.FastSolver;
+
+/**
+ * Receives the solutions enumerated by {@link FastSolver#enumerateSolutions(int, SolutionCallback)} one by one.
+ */
+public interface SolutionCallback
+{
+	/**
+	 * @param solution the value of every cell, indexed by the cell ids of the type's
+	 *                 {@link de.sudoq.model.sudoku.sudokuTypes.SudokuTopology}. The array is reused for the next
+	 *                 solution, it has to be copied to be kept
+	 * @return true to continue with the next solution, false to stop the enumeration
+	 */
+	boolean solutionFound(int[] solution);
+}
@@ -18,13 +18,16 @@ import java.util.Random;
 import java.util.Stack;
 
 import de.sudoq.model.files.FileManager;
+import de.sudoq.model.solverGenerator.FastSolver.AmbiguityResult;
 import de.sudoq.model.solverGenerator.FastSolver.BranchAndBound.FastBranchAndBound;
+import de.sudoq.model.solverGenerator.FastSolver.DLX1.IncrementalDLXSolver;
+import de.sudoq.model.solverGenerator.FastSolver.DLX1.ParallelExactCoverSearch;
 import de.sudoq.model.solverGenerator.FastSolver.FastSolver;
 import de.sudoq.model.solverGenerator.FastSolver.FastSolverFactory;
+import de.sudoq.model.solverGenerator.FastSolver.SearchBudget;
 import de.sudoq.model.solverGenerator.solution.SolveDerivation;
 import de.sudoq.model.solverGenerator.solver.ComplexityRelation;
 import de.sudoq.model.solverGenerator.solver.Solver;
-import de.sudoq.model.sudoku.Constraint;
 import de.sudoq.model.sudoku.Cell;
 import de.sudoq.model.sudoku.Position;
 import de.sudoq.model.sudoku.PositionMap;
@@ -46,6 +49,11 @@ import static de.sudoq.model.solverGenerator.solver.ComplexityRelation.CONSTRAIN
  * Bietet die Möglichkeit Sudokus zu generieren.
  * Die Klasse implementiert das {@link Runnable} interface
  * und kann daher in einem eigenen Thread ausgeführt werden.
+ *
+ * Mehrere Instanzen können gleichzeitig laufen: jede hat ihr eigenes Random-Objekt, ihren eigenen {@link Solver}
+ * und eigene FastSolver. Geteilt werden nur unveränderliche Daten, d.h. {@link Position}en, die SudokuTypes aus
+ * der {@link de.sudoq.model.sudoku.sudokuTypes.SudokuTypeRegistry} und deren (synchronisiert gecachte) Layouts.
+ * Eine einzelne Instanz darf nicht von mehreren Threads gleichzeitig benutzt werden.
  */
 public class GenerationAlgo implements Runnable
 {
@@ -89,6 +97,13 @@ public class GenerationAlgo implements Runnable
 	 */
 	protected Sudoku solvedSudoku;
 	
+	/**
+	 * DLX solver that follows the defined cells of {@link #sudoku}, so the checks for solutions and ambiguity don't
+	 * rebuild a solver every time. Null if the type can't be expressed as exact cover.
+	 * All values of {@link #sudoku} have to be set via {@link #setValue(Position, int)} to keep it in step.
+	 */
+	private IncrementalDLXSolver cluesSolver;
+	
 	/**
 	 * Die Anzahl der Felder, die fest zu definieren ist
 	 */
@@ -105,6 +120,23 @@ public class GenerationAlgo implements Runnable
 	 */
 	private ComplexityConstraint desiredComplexityConstraint;
 	
+	/**
+	 * Anzahl der verworfenen Kandidaten: Belegungen ohne Lösung und Belegungen,
+	 * die nicht die gewünschte Schwierigkeit hatten
+	 */
+	private int rejectedCandidates;
+	
+	/**
+	 * Maximale Anzahl an Suchknoten für die Suche nach einer zweiten Lösung
+	 */
+	private static final long AMBIGUITY_CHECK_NODES = 2000000;
+	
+	/**
+	 * Ab dieser Anzahl an Feldern (16x16, Samurai) werden lange Mehrdeutigkeitsprüfungen auf mehrere Threads
+	 * verteilt
+	 */
+	private static final int PARALLEL_AMBIGUITY_CELLS = 256;
+	
 	/**
 	 * Instanziiert ein neues Generierungsobjekt für das spezifizierte
 	 * Sudoku. Da die Klasse privat ist wird keine Überprüfung der
@@ -128,8 +160,20 @@ public class GenerationAlgo implements Runnable
 		this.random = random;
 		
 		this.desiredComplexityConstraint = sudoku.getSudokuType().buildComplexityConstraint(sudoku.getComplexity());
+		//determine ideal number of prefilled fields
+		this.cellsToDefine = getNumberOfCellsToDefine(sudoku.getSudokuType(), desiredComplexityConstraint);
 		
 		freeCells.addAll(getPositions(sudoku));//fills the currenlty empty list freefields as no field is defined=occupied
+		
+		if(sudoku.getSudokuType().getExactCover().isExact())
+		{
+			cluesSolver = new IncrementalDLXSolver(sudoku);
+			//decided by the size only, the parallel search gives other results than the sequential one
+			if(freeCells.size() >= PARALLEL_AMBIGUITY_CELLS)
+			{
+				cluesSolver.setParallelSearch(new ParallelExactCoverSearch(ParallelExactCoverSearch.getSharedPool()));
+			}
+		}
 	}
 	
 	/**
@@ -172,13 +216,50 @@ public class GenerationAlgo implements Runnable
 		}
 	}
 	
+	/**
+	 * Gibt die Anzahl der bisher verworfenen Kandidaten zurück, d.h. der Belegungen, die keine Lösung hatten oder
+	 * deren Schwierigkeit nicht passte.
+	 *
+	 * @return die Anzahl verworfener Kandidaten
+	 */
+	public int getRejectedCandidates()
+	{
+		return rejectedCandidates;
+	}
+	
 	private Sudoku createSudokuPattern()
 	{
-		//determine ideal number of prefilled fields
-		cellsToDefine = getNumberOfCellsToDefine(sudoku.getSudokuType(), desiredComplexityConstraint);
-		
 		//A mapping from position to solution
-		PositionMap<Integer> solution = new PositionMap<>(this.sudoku.getSudokuType().getSize());
+		PositionMap<Integer> solution = null;
+		if(cluesSolver != null)
+		{
+			//no cells are defined yet, so this is a random complete grid found in one pass
+			solution = cluesSolver.getRandomSolution(random);
+		}
+		if(solution == null)
+		{
+			solution = findSolutionByClues();
+		}
+		
+		// Create the sudoku template generated before
+		SudokuBuilder sub = new SudokuBuilder(sudoku.getSudokuType());
+		for(Position p : getPositions(sudoku))
+		{
+			sub.addSolution(p, solution.get(p));//fill in all solutions
+		}
+		return sub.createSudoku();
+	}
+	
+	/**
+	 * Finds a complete grid the old way: defines random cells, and while they have no solution
+	 * removes some of them and defines new ones. Used for types that can't be expressed as exact cover, and for exact
+	 * types if {@link IncrementalDLXSolver#getRandomSolution(Random)} finds no grid. The defined cells are checked with
+	 * {@link #getFastSolver()}, so for exact types on {@link #cluesSolver}, for the others on a new solver each time.
+	 *
+	 * @return a solution of the defined cells
+	 */
+	protected PositionMap<Integer> findSolutionByClues()
+	{
 		int iteration = 0;
 		//System.out.println("Fields to define: "+fieldsToDefine);
 		
@@ -191,9 +272,10 @@ public class GenerationAlgo implements Runnable
 		int fieldsToDefineDynamic = cellsToDefine;
 		
 		/* until a solution is found, remove 5 random fields and add new ones */
-		FastSolver fs = FastSolverFactory.getSolver(sudoku);
+		FastSolver fs = getFastSolver();
 		while(!fs.hasSolution())
 		{
+			rejectedCandidates++;
 			//System.out.println("Iteration: "+(iteration++)+", defined Fields: "+definedFields.size());
 			// Remove some fields, because sudoku could not be validated
 			removeDefinedCells(5);
@@ -211,7 +293,7 @@ public class GenerationAlgo implements Runnable
 			{
 				fieldsToDefineDynamic--; //to avoid infinite loop slowly relax
 			}
-			fs = FastSolverFactory.getSolver(sudoku);
+			fs = getFastSolver();
 		}
 		
 		/* we found a solution i.e. a combination of nxn numbers that fulfill all constraints */
@@ -227,17 +309,7 @@ public class GenerationAlgo implements Runnable
 		//PositionMap<Integer> solution2 = solver.getSudoku().getField();
 		
 		//solution is filled with correct solution
-		solution = fs.getSolutions();
-		
-		/* We have (validated) filled `solution` with the right values */
-		
-		// Create the sudoku template generated before
-		SudokuBuilder sub = new SudokuBuilder(sudoku.getSudokuType());
-		for(Position p : getPositions(sudoku))
-		{
-			sub.addSolution(p, solution.get(p));//fill in all solutions
-		}
-		return sub.createSudoku();
+		return fs.getSolutions();
 	}
 	
 	private void createAllocation(Sudoku pattern)
@@ -252,13 +324,15 @@ public class GenerationAlgo implements Runnable
 		//TODO simplify: iterate over fields/positions
 		for(Position pos : getPositions(sudoku))
 		{
-			Cell fSudoku = sudoku.getCell(pos);
-			Cell fSolved = pattern.getCell(pos);
-			fSudoku.setCurrentValue(fSolved.getSolution(), false);
+			setValue(pos, pattern.getCell(pos).getSolution());
 		}
 		
 		int reallocationAmount = 2; //getReallocationAmount(sudoku.getSudokuType(), 0.05);
 		
+		//one solver for all iterations, it is reset to the current allocation each time
+		FastBranchAndBound solver = new FastBranchAndBound(sudoku);
+		double scoreBudget = FastBranchAndBound.getScoreBudget(desiredComplexityConstraint);
+		
 		int plusminuscounter = 0;
 		for(ComplexityRelation rel = INVALID;
 			rel != CONSTRAINT_SATURATION;
@@ -289,10 +363,14 @@ public class GenerationAlgo implements Runnable
 			rel = solver.validate(null);
 			System.out.println("validate says: " + rel);*/
 			
-			//fast validation where after 10 branchpoints we return too diificult
+			//fast validation where after 10 branchpoints or once the score exceeds the budget we return too diificult
 			
-			FastBranchAndBound solver = new FastBranchAndBound(sudoku);
-			rel = solver.validate();
+			solver.reset(sudoku);
+			rel = solver.validate(scoreBudget);
+			if(rel != CONSTRAINT_SATURATION)
+			{
+				rejectedCandidates++;
+			}
 			
 			//System.out.println("Generator.run +/- loop. validate says " + rel);
 			switch(rel)
@@ -318,18 +396,28 @@ public class GenerationAlgo implements Runnable
 	
 	/*
 	 * While there are 2 solutions, add solution that is different in second sudoku
-	 * Careful! If looking for the 2nd solution takes longer than x min, sudoku is declared unambiguous
+	 * If looking for the 2nd solution exceeds AMBIGUITY_CHECK_NODES, the sudoku is not declared unambiguous,
+	 * instead a random cell is defined and the check is repeated on the more constrained sudoku.
 	 */
 	private Sudoku removeAmbiguity(Sudoku sudoku)
 	{
-		FastSolver fs = FastSolverFactory.getSolver(sudoku);
+		FastSolver fs = getFastSolver();
 		//samurai take a long time -> try without uniqueness constraint
 		//if (sudoku.getSudokuType().getEnumType() != SudokuTypes.samurai)
-		while(fs.isAmbiguous())
+		for(AmbiguityResult r = fs.checkAmbiguity(new SearchBudget(AMBIGUITY_CHECK_NODES));
+		    r == AmbiguityResult.AMBIGUOUS || r == AmbiguityResult.UNKNOWN;
+		    r = fs.checkAmbiguity(new SearchBudget(AMBIGUITY_CHECK_NODES)))
 		{
-			Position p = fs.getAmbiguousPos();
-			addDefinedCell2(p);
-			fs = FastSolverFactory.getSolver(sudoku);
+			if(r == AmbiguityResult.AMBIGUOUS)
+			{
+				Position p = fs.getAmbiguousPos();
+				addDefinedCell2(p);
+			}
+			else
+			{
+				addDefinedCell2(); //too expensive to decide, constrain further
+			}
+			fs = getFastSolver();
 		}
 		return sudoku;
 	}
@@ -482,18 +570,14 @@ public class GenerationAlgo implements Runnable
 		{
 			sudoku.getCell(p).setCurrentValue(s, false);
 			//alle constraints saturiert?
-			valid = true;
-			for(Constraint c : this.sudoku.getSudokuType())
+			valid = sudoku.getSudokuType().checkSudoku(sudoku, p);
+			if(!valid)
 			{
-				if(!c.isSaturated(sudoku))
-				{
-					valid = false;
-					sudoku.getCell(p).setCurrentValue(Cell.EMPTYVAL, false);
-					break;
-				}
+				sudoku.getCell(p).setCurrentValue(Cell.EMPTYVAL, false);
 			}
 			if(valid)
 			{
+				setValue(p, s);
 				definedCells.add(p);
 				freeCells.remove(p); //if it's defined it is no longer free
 				break;
@@ -510,9 +594,7 @@ public class GenerationAlgo implements Runnable
 	private void addDefinedCell2(int i)
 	{
 		Position p = freeCells.remove(i); //used to be 0, random just in case
-		Cell fSudoku = sudoku.getCell(p);
-		Cell fSolved = solvedSudoku.getCell(p);
-		fSudoku.setCurrentValue(fSolved.getSolution(), false);
+		setValue(p, solvedSudoku.getCell(p).getSolution());
 		definedCells.add(p);
 	}
 	
@@ -549,11 +631,41 @@ public class GenerationAlgo implements Runnable
 		
 		int nr = random.nextInt(definedCells.size());
 		Position p = definedCells.remove(nr);
-		sudoku.getCell(p).setCurrentValue(Cell.EMPTYVAL, false);
+		setValue(p, Cell.EMPTYVAL);
 		freeCells.add(p);
 		return p;
 	}
 	
+	/**
+	 * Sets the value of a cell of {@link #sudoku} and enters or removes it as given of {@link #cluesSolver}.
+	 *
+	 * @param p position of the cell
+	 * @param value the new value or {@link Cell#EMPTYVAL}
+	 */
+	private void setValue(Position p, int value)
+	{
+		sudoku.getCell(p).setCurrentValue(value, false);
+		if(cluesSolver != null)
+		{
+			if(value == Cell.EMPTYVAL)
+			{
+				cluesSolver.retract(p);
+			}
+			else
+			{
+				cluesSolver.assume(p, value);
+			}
+		}
+	}
+	
+	/**
+	 * @return a solver for the current values of {@link #sudoku}, the incremental one if there is one
+	 */
+	private FastSolver getFastSolver()
+	{
+		return cluesSolver != null ? cluesSolver : FastSolverFactory.getSolver(sudoku);
+	}
+	
 	/**
 	 * Tries {@code numberOfFieldsToRemove} times to remove a defined field
 	 * @param numberOfCellsToRemove number of fields to remove
@@ -6,6 +6,9 @@ import java.util.Stack;
 import de.sudoq.model.solvingAssistant.HintTypes;
 import de.sudoq.model.sudoku.Constraint;
 
+/**
+ * Herleitung eines Fisches, d.h. eines X-Wings oder eines größeren Fisches (Swordfish, Jellyfish).
+ */
 public class XWingDerivation extends SolveDerivation
 {
 	private List<Constraint> lockedConstraints;
@@ -14,10 +17,18 @@ public class XWingDerivation extends SolveDerivation
 	
 	public XWingDerivation()
 	{
-		super(HintTypes.XWing);
+		this(HintTypes.XWing);
+	}
+	
+	/**
+	 * @param technique XWing, Swordfish oder Jellyfish
+	 */
+	public XWingDerivation(HintTypes technique)
+	{
+		super(technique);
 		lockedConstraints = new Stack<>();
 		reducibleConstraints = new Stack<>();
-		setDescription("XWing");
+		setDescription(technique.toString());
 	}
 	
 	public void setLockedConstraints(Constraint c1, Constraint c2)
@@ -32,6 +43,16 @@ public class XWingDerivation extends SolveDerivation
 		reducibleConstraints.add(c2);
 	}
 	
+	public void addLockedConstraint(Constraint c)
+	{
+		lockedConstraints.add(c);
+	}
+	
+	public void addReducibleConstraint(Constraint c)
+	{
+		reducibleConstraints.add(c);
+	}
+	
 	public List<Constraint> getReducibleConstraints()
 	{
 		return reducibleConstraints;
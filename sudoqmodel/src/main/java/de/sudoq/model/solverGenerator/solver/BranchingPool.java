@@ -1,12 +1,8 @@
 package de.sudoq.model.solverGenerator.solver;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Stack;
 
-import de.sudoq.model.sudoku.CandidateSet;
 import de.sudoq.model.sudoku.Position;
-import de.sudoq.model.sudoku.PositionMap;
 
 /**
  * BranchinigPool maintains active branchings and recycles old objects
@@ -71,7 +67,6 @@ class BranchingPool
 		if(!branchingsInUse.isEmpty())
 		{
 			Branching returnedMap = branchingsInUse.pop(); //get last branching
-			returnedMap.solutionsSet.clear();              //clear values
 			branchingsReservoir.push(returnedMap);         //move to reservoir
 		}
 	}
@@ -89,8 +84,8 @@ class BranchingPool
 	
 	/**
 	 * A branching object holds all the branching position and the candidate with wich the branch was started.
-	 * It holds the candidates for every position BEFORE the branch took place in order to write them back if the branch is reverted
-	 * as well as all solutions that wee entered into the sudoku SINCE the branch took place in order to delete them from the sudoku if the branch is reverted
+	 * It holds the length of the sudoku's undo log BEFORE the branch took place, all candidate changes and solutions
+	 * entered SINCE then are recorded behind that mark and undone if the branch is reverted
 	 * Alle Attribute sind package scope verfügbar, um diese direkt bearbeiten zu können.
 	 * Aus Performancegründen wurde auf einen Zugriff durch Getter/Setter-Methoden verzichtet.
 	 */
@@ -107,14 +102,9 @@ class BranchingPool
 		int candidate;
 		
 		/**
-		 * Die Liste von Positionen an denen in diesem Branch eine Lösung eingetragen wurde.
+		 * Die Länge des Undo-Logs des Sudokus vor dem Branchen, alle späteren Einträge gehören zu diesem Branch.
 		 */
-		final List<Position> solutionsSet; //TODO rename to sol..LIST??
-		
-		/**
-		 * Eine Map, welche für jede Position dessen Kandidaten vor dem Branchen speichert.
-		 */
-		PositionMap<CandidateSet> candidates;
+		int trailMark;
 		
 		/**
 		 * Der Komplexitätswert für diesen Branch
@@ -122,12 +112,11 @@ class BranchingPool
 		int complexityValue;
 		
 		/**
-		 * Erstellt ein neues Branching mit einem leeren SolutionSet.
+		 * Erstellt ein neues Branching.
 		 * position and candidate are set by parameter values, complexity value is set to 0
 		 */
 		protected Branching(Position p, int candidate)
 		{
-			this.solutionsSet = new ArrayList<>();
 			initializeWith(p, candidate);
 		}
 		
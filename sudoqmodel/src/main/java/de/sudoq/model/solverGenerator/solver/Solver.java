@@ -14,24 +14,29 @@ import de.sudoq.model.solverGenerator.solution.DerivationCell;
 import de.sudoq.model.solverGenerator.solution.Solution;
 import de.sudoq.model.solverGenerator.solution.SolveDerivation;
 import de.sudoq.model.solverGenerator.solver.helper.Backtracking;
+import de.sudoq.model.solverGenerator.solver.helper.FishHelper;
 import de.sudoq.model.solverGenerator.solver.helper.HiddenHelper;
 import de.sudoq.model.solverGenerator.solver.helper.LastDigitHelper;
 import de.sudoq.model.solverGenerator.solver.helper.LeftoverNoteHelper;
 import de.sudoq.model.solverGenerator.solver.helper.LockedCandandidatesHelper;
 import de.sudoq.model.solverGenerator.solver.helper.NakedHelper;
 import de.sudoq.model.solverGenerator.solver.helper.SolveHelper;
-import de.sudoq.model.solverGenerator.solver.helper.XWingHelper;
 import de.sudoq.model.solvingAssistant.HintTypes;
 import de.sudoq.model.sudoku.CandidateSet;
 import de.sudoq.model.sudoku.Constraint;
 import de.sudoq.model.sudoku.Position;
 import de.sudoq.model.sudoku.PositionMap;
 import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.complexity.Complexity;
 import de.sudoq.model.sudoku.complexity.ComplexityConstraint;
 
 /**
  * Diese Klasse bietet Methoden zum Lösen eines Sudokus. Sowohl einzelne Felder, als auch gesamte Sudokus können gelöst
  * werden. Auch das Validieren eines Sudokus auf Lösbarkeit ist möglich.
+ *
+ * Ein Solver ist nicht threadsicher. Verschiedene Solver teilen aber keinen veränderlichen Zustand,
+ * so dass mehrere Solver (auch auf Sudokus desselben geteilten {@link de.sudoq.model.sudoku.sudokuTypes.SudokuType}s)
+ * gleichzeitig in verschiedenen Threads laufen können.
  */
 public class Solver
 {
@@ -71,7 +76,7 @@ public class Solver
 	/**
 	 * Das ComplexityConstraint für die Schwierigkeit des Sudokus.
 	 */
-	private ComplexityConstraint complConstr;
+	protected ComplexityConstraint complConstr;
 	
 	/* Constructors */
 	
@@ -95,6 +100,36 @@ public class Solver
 		numberOfHelpers = helper.size();
 	}
 	
+	/**
+	 * Richtet diesen Solver auf ein anderes Sudoku desselben Typs aus. Das SolverSudoku und die Helper werden
+	 * wiederverwendet, siehe {@link SolverSudoku#reset(Sudoku)}.
+	 *
+	 * @param sudoku Sudoku to be solved by this solver from now on
+	 * @throws IllegalArgumentException if {@code sudoku == null} or it is of another type
+	 */
+	public void reset(Sudoku sudoku)
+	{
+		Complexity previous = this.sudoku.getComplexity();
+		this.sudoku.reset(sudoku);
+		if(sudoku.getComplexity() != previous)
+		{
+			this.complConstr = sudoku.getSudokuType().buildComplexityConstraint(sudoku.getComplexity());
+		}
+		lastSolutions = null;
+	}
+	
+	/**
+	 * Richtet diesen Solver auf eine andere Belegung aus, siehe {@link SolverSudoku#reset(int[])}.
+	 *
+	 * @param givens die Werte nach Feld-ID, {@link de.sudoq.model.sudoku.Cell#EMPTYVAL} für leere Felder
+	 * @throws IllegalArgumentException if givens doesn't hold a valid value for every cell
+	 */
+	public void reset(int[] givens)
+	{
+		this.sudoku.reset(givens);
+		lastSolutions = null;
+	}
+	
 	protected List<SolveHelper> makeHelperList()
 	{
 		// Initialize the helpers
@@ -133,7 +168,9 @@ public class Solver
 		
 		
 		helpers.add(new LockedCandandidatesHelper(this.sudoku, 600));
-		helpers.add(new XWingHelper(this.sudoku, 2000));
+		helpers.add(new FishHelper(this.sudoku, 2, 2000));
+		helpers.add(new FishHelper(this.sudoku, 3, 2600));
+		helpers.add(new FishHelper(this.sudoku, 4, 3200));
 		
 		helpers.add(new Backtracking(this.sudoku, 10000));
 		return helpers;
@@ -209,24 +246,25 @@ public class Solver
 			}
 			
 			/* try to solve fields where only one note is remaining TODO why not just make a naked single?!(efficiency?)*/
-			for(Position p : this.sudoku.positions)
+			for(int cell = 0; cell < this.sudoku.getNumberOfCells(); cell++)
 			{
-				BitSet b = this.sudoku.getCurrentCandidates(p);
-				if(b.cardinality() == 1)
+				int b = this.sudoku.getCandidateMask(cell);
+				if(Integer.bitCount(b) == 1)
 				{ //we found a field where only one note remains
+					Position p = this.sudoku.getPosition(cell);
 					if(!this.sudoku.hasBranch())
 					{
 						//if there are no branches create solution-object
-						solution.setAction(new SolveActionFactory().createAction(b.nextSetBit(0), this.sudoku.getCell(p)));
+						solution.setAction(new SolveActionFactory().createAction(Integer.numberOfTrailingZeros(b), this.sudoku.getCell(p)));
 						
 						SolveDerivation deriv = new SolveDerivation();
-						deriv.addDerivationCell(new DerivationCell(p, (BitSet) b.clone(), new BitSet())); //since only one bit set, complement is an empty set
+						deriv.addDerivationCell(new DerivationCell(p, CandidateSet.fromBitMask(b), new BitSet())); //since only one bit set, complement is an empty set
 						solution.addDerivation(deriv);
 						solvedField = true;
 					}
 					else
 					{
-						this.sudoku.setSolution(p, b.nextSetBit(0)); //set solution that can be removed again (in case it's the wrong branch)
+						this.sudoku.setSolution(p, Integer.numberOfTrailingZeros(b)); //set solution that can be removed again (in case it's the wrong branch)
 						didUpdate = true;
 					}
 				}
@@ -361,7 +399,11 @@ public class Solver
 		return countsBuilder.toString();
 	}
 	
-	private static Map<HintTypes, Integer> hintscores = new HashMap<>();
+	/**
+	 * Scores of the helpers of this solver, filled on first use.
+	 * Per instance, so that solvers in different threads don't share it.
+	 */
+	private Map<HintTypes, Integer> hintscores = new HashMap<>();
 	
 	public int getHintScore()
 	{
@@ -682,16 +724,14 @@ public class Solver
 	 *                                 if there are more candidates, choose the next one
 	 *                                 otherwise, delete branches until there are
 	 *
+	 * The branches are unwound in a loop, so backtracking over many levels needs no stack frames.
+	 *
 	 * @param buildDerivation indicates whether a derivation is to be constructed
 	 * @return the Branchresult
 	 */
 	protected Branchresult advanceBranching(boolean buildDerivation)
 	{
-		if(!this.sudoku.hasBranch())
-		{
-			return Branchresult.UNSOLVABLE;         // possible output nr1: insolvable
-		}
-		else
+		while(this.sudoku.hasBranch())
 		{
 			Position branchingPos = this.sudoku.getLastBranch().position;
 			int branchingCandidate = this.sudoku.getLastBranch().candidate;
@@ -707,10 +747,11 @@ public class Solver
 			}
 			this.sudoku.killCurrentBranch();
 			
-			CandidateSet candidates = this.sudoku.getCurrentCandidates(branchingPos);
-			int nextCandidate = candidates.nextSetBit(branchingCandidate + 1);
+			int candidates = this.sudoku.getCandidateMask(branchingPos);
+			int laterCandidates = candidates & (-2 << branchingCandidate); //all candidates above branchingCandidate
+			int nextCandidate = Integer.numberOfTrailingZeros(laterCandidates);
 			
-			if(nextCandidate != -1)
+			if(laterCandidates != 0)
 			{
 				//TODO new Backtracking(this.sudoku).update(tre)
 				this.sudoku.startNewBranch(branchingPos, nextCandidate);
@@ -720,7 +761,7 @@ public class Solver
 					branchPoints.push(lastSolutions.size());
 					//copied from class Backtracking (because we need a custom candidate here).
 					SolveDerivation lastDerivation = new SolveDerivation(HintTypes.Backtracking);
-					BitSet irrelevantCandidates = candidates; //startNewBranch() deletes candidates in currendCandidates, and branchpool can't be accessed from here, so we need to use saved bitset
+					BitSet irrelevantCandidates = CandidateSet.fromBitMask(candidates); //startNewBranch() deletes candidates in currendCandidates, and branchpool can't be accessed from here, so we need to use saved mask
 					BitSet relevantCandidates = new BitSet();
 					relevantCandidates.set(nextCandidate);
 					irrelevantCandidates.clear(nextCandidate);
@@ -733,12 +774,9 @@ public class Solver
 				
 				return Branchresult.SUCCESS;
 			}
-			else
-			{
-				//no candidate was applicable -> backtrack even further
-				return advanceBranching(buildDerivation);
-			}
+			//no candidate was applicable -> backtrack even further
 		}
+		return Branchresult.UNSOLVABLE;         // possible output nr1: insolvable
 	}
 /*
 if there is another candidate -> advance
@@ -806,44 +844,43 @@ if there is another candidate -> advance
 	 */
 	protected boolean updateNakedSingles(boolean addDerivations, boolean addComplexity)
 	{
-		boolean hasNakedSingle;   //indicates that one was found in the last iteration -> continue to iterate
 		boolean foundNakedSingle = false; //indicates that at least one was found
-		// Iterate trough the fields to look if each field has only one
-		// candidate left = solved
+		// Take the fields with only one candidate left from the ones SolverSudoku has noted down, in the order of a
+		// repeated scan over all fields
 		Solution newSolution = new Solution();
-		do
+		int cell = this.sudoku.nextNakedSingle(0);
+		while(cell >= 0)
 		{
-			hasNakedSingle = false;
-			for(Position p : this.sudoku.positions)
+			int b = this.sudoku.getCandidateMask(cell);
+			Position p = this.sudoku.getPosition(cell);
+			if(addDerivations)
 			{
-				BitSet b = this.sudoku.getCurrentCandidates(p);
-				if(b.cardinality() == 1)
-				{
-					if(addDerivations)
-					{
-						SolveDerivation deriv = new SolveDerivation(HintTypes.NakedSingle);
-						deriv.addDerivationCell(new DerivationCell(p, (BitSet) b.clone(), new BitSet()));
-						deriv.setDescription("debug: naked single via Solver.updateNakedSingles");
-						/*
-						we dont do actions for the other helpers either and
- -						several actions per solution would only ovewrite themselves
- 						SolveAction action = (SolveAction) new SolveActionFactory().createAction(b.nextSetBit(0),
-								this.sudoku.getField(p));
-						sol.setAction(action);*/
-						newSolution.addDerivation(deriv);
-						//lastSolutions.add(new Solution());
-					}
-					sudoku.setSolution(p, b.nextSetBit(0));//execute, since only one candidate, take first
-					if(addComplexity)
-					{
-						this.sudoku.addComplexityValue(10, true);
-					}
-					hasNakedSingle = true;
-					foundNakedSingle = true;
-				}
+				SolveDerivation deriv = new SolveDerivation(HintTypes.NakedSingle);
+				deriv.addDerivationCell(new DerivationCell(p, CandidateSet.fromBitMask(b), new BitSet()));
+				deriv.setDescription("debug: naked single via Solver.updateNakedSingles");
+				/*
+				we dont do actions for the other helpers either and
+ -				several actions per solution would only ovewrite themselves
+ 				SolveAction action = (SolveAction) new SolveActionFactory().createAction(b.nextSetBit(0),
+						this.sudoku.getField(p));
+				sol.setAction(action);*/
+				newSolution.addDerivation(deriv);
+				//lastSolutions.add(new Solution());
+			}
+			sudoku.setSolution(p, Integer.numberOfTrailingZeros(b));//execute, since only one candidate, take first
+			if(addComplexity)
+			{
+				this.sudoku.addComplexityValue(10, true);
+			}
+			foundNakedSingle = true;
+			
+			//continue behind this cell, singles that arose in front of it are taken in the next round
+			cell = this.sudoku.nextNakedSingle(cell + 1);
+			if(cell < 0)
+			{
+				cell = this.sudoku.nextNakedSingle(0);
 			}
 		}
-		while(hasNakedSingle);
 		
 		if(foundNakedSingle && addDerivations)
 		{
@@ -861,16 +898,8 @@ if there is another candidate -> advance
 	 */
 	protected boolean isInvalid()
 	{
-		//for (Position p : this.sudoku.positions)
-		for(Position p : this.sudoku.getSudokuType().getValidPositions())
-		{
-			/* look for no solution entered && no candidates left */
-			if(this.sudoku.getCurrentCandidates(p).isEmpty() && this.sudoku.getCell(p).isNotSolved())
-			{
-				return true;
-			}
-		}
-		return false;
+		/* look for no solution entered && no candidates left */
+		return this.sudoku.hasCellWithoutCandidates();
 	}
 	
 	/**
@@ -885,14 +914,7 @@ if there is another candidate -> advance
 		//return sudoku.positions.map(sudoku.getField).forall(f=>!f.isNotSolved())
 		//return !sudoku.positions.map(sudoku.getField).exists(f=>f.isNotSolved())
 		
-		for(Position p : this.sudoku.positions)
-		{
-			if(this.sudoku.getCell(p).isNotSolved())
-			{
-				return false;
-			}
-		}
-		return true;
+		return this.sudoku.getNumberOfUnsolvedCells() == 0;
 	}
 	
 	/**
@@ -1,42 +1,105 @@
 package de.sudoq.model.solverGenerator.solver;
 
-import java.util.ArrayList;
-import java.util.BitSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Stack;
 
-import de.sudoq.model.solverGenerator.Generator;
 import de.sudoq.model.solverGenerator.solver.BranchingPool.Branching;
 import de.sudoq.model.sudoku.CandidateSet;
 import de.sudoq.model.sudoku.Cell;
 import de.sudoq.model.sudoku.Constraint;
 import de.sudoq.model.sudoku.Position;
-import de.sudoq.model.sudoku.PositionMap;
 import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTopology;
 
 /**
- * Eine für den Lösungsalgorithmus optimierte und erweiterte Sudoku Klasse
+ * Eine für den Lösungsalgorithmus optimierte und erweiterte Sudoku Klasse.
+ *
+ * Die Kandidaten werden nicht als BitSets, sondern kompakt als int-Bitmasken in einem Array gehalten, das über eine
+ * dichte Feld-ID (Index in {@link #getPositions()}) adressiert wird. Bit i einer Maske steht für Kandidat i. Die
+ * Feld-IDs und die Beziehungen zwischen Feldern und Constraints kommen aus dem {@link SudokuTopology} des Typs,
+ * sodass beim Eintragen einer Lösung keine Listen mehr durchsucht werden müssen. Zu jedem Constraint und Symbol
+ * werden die möglichen Felder als Bitmaske nachgeführt ({@link #getPlaces(int, int)}). Beim Branchen werden das
+ * Kandidaten-Array und diese Masken mit System.arraycopy gesichert.
  */
 public class SolverSudoku extends Sudoku
 {
 	/* Attributes */
 	
 	/**
-	 * Eine Liste aller Positionen dieses Sudokus
+	 * Eine Liste aller Positionen dieses Sudokus. Der Index einer Position in dieser Liste ist ihre Feld-ID.
 	 */
 	List<Position> positions;
 	
 	/**
-	 * Mappt die Positionen auf eine Liste von Constraints, zu welchen diese Position gehört
+	 * Der Topologie-Index des Sudokutyps, liefert Feld-IDs, Constraint-IDs und deren Beziehungen
 	 */
-	PositionMap<ArrayList<Constraint>> constraints;
+	private SudokuTopology topology;
 	
 	/**
-	 * Mappt die Positionen auf ein BitSet, welches die Kandidaten für dieses Feld repräsentiert nach jedem
-	 * Branching-Schritt repräsentiert
+	 * Die Felder nach Feld-ID
 	 */
-	private PositionMap<CandidateSet> currentCandidates;
+	private Cell[] cellArray;
+	
+	/**
+	 * Die aktuellen Kandidaten jedes Feldes als Bitmaske, nach Feld-ID. Gelöste Felder haben keine Kandidaten.
+	 */
+	private int[] candidates;
+	
+	/**
+	 * Für jeden Constraint und jedes Symbol (Index constraint * #Symbole + symbol) die Felder des Constraints, in denen
+	 * das Symbol noch Kandidat ist, als Bitmaske über die Indizes in {@link SudokuTopology#getCellsOfConstraint(int)}.
+	 * Wird bei jeder Änderung der Kandidaten nachgeführt, nur gültig für Constraints mit
+	 * {@link SudokuTopology#hasCellMasks(int)}.
+	 */
+	private int[] places;
+	
+	/**
+	 * Die Anzahl der Symbole des Sudokutyps
+	 */
+	private int numberOfSymbols;
+	
+	/**
+	 * Die Anzahl der Felder, in denen noch keine Lösung eingetragen ist
+	 */
+	private int unsolvedCells;
+	
+	/**
+	 * Die Anzahl der ungelösten Felder ohne Kandidaten, ist sie größer 0 ist das Sudoku invalide
+	 */
+	private int cellsWithoutCandidates;
+	
+	/**
+	 * Bitmenge der Feld-IDs, deren Kandidatenmaske sich geändert hat und seitdem genau einen Kandidaten hat.
+	 * Einträge können veraltet sein, sie werden beim Abfragen mit {@link #nextNakedSingle(int)} geprüft.
+	 */
+	private long[] pendingSingles;
+	
+	/**
+	 * Die Felder mit mindestens zwei Kandidaten, nach Anzahl ihrer Kandidaten in Bitmengen von Feld-IDs eingeteilt,
+	 * sowie die Größe jeder dieser Mengen. Erlaubt es, ein Feld mit den wenigsten Kandidaten ohne Suche zu finden.
+	 */
+	private long[][] buckets;
+	private int[] bucketSizes;
+	
+	/**
+	 * Zählt jede Änderung an Kandidaten oder eingetragenen Lösungen, wird nie zurückgesetzt
+	 */
+	private long version;
+	
+	/**
+	 * Die Version der letzten Änderung in jedem Constraint, nach Constraint-ID
+	 */
+	private long[] constraintVersions;
+	
+	/**
+	 * Das Undo-Log aller Änderungen seit dem ältesten offenen Branch, gültig sind die ersten trailSize Einträge. Eine
+	 * Änderung der Kandidaten eines Feldes belegt zwei Einträge (alte Kandidaten, Feld-ID), das Eintragen einer Lösung
+	 * drei (alter Wert, alte Kandidaten, ~Feld-ID). Das Log wird von hinten abgebaut, der letzte Eintrag bestimmt also
+	 * die Art der Änderung. Ohne offenen Branch wird nichts aufgezeichnet.
+	 */
+	private int[] trail;
+	private int trailSize;
 	
 	/**
 	 * Speichert die Positionen an denen gebrancht wurde. (implizit in den einzelnen branchings )
@@ -49,17 +112,16 @@ public class SolverSudoku extends Sudoku
 	 */
 	private BranchingPool branchPool;
 	
-	/**
-	 * Der PositionMapPool zum Verwalten der für das Branching benötigten PositionMaps.
-	 */
-	private PositionMapPool positionPool;
-	
 	/**
 	 * Die Summe der Schwierigkeit aller auf diesem Sudoku ausgeführten Operationen zum Lösen
 	 */
 	private int complexityValue;
 	
-	private Map<Constraint, List<Constraint>> neighborDirectory; //better to have that static in the type
+	/**
+	 * Der Anteil von complexityValue, der in den offenen Branches angefallen ist und beim Verwerfen dieser Branches
+	 * wieder abgezogen wird
+	 */
+	private int branchComplexityValue;
 	
 	public enum Initialization
 	{
@@ -103,50 +165,38 @@ public class SolverSudoku extends Sudoku
 	 */
 	public void initializeSolverSudoku(Sudoku sudoku, Initialization mode)
 	{
-		this.setComplexity(sudoku.getComplexity());//transfer complexity as well
-		
-		// initialize the list of positions
-		//this.positions = new ArrayList<>(fields.keySet());
-		this.positions = new ArrayList<>();//for debugging we need the same as once
-		this.positions.addAll(cells.keySet());
-		
-		/* For debugging, we need predictable order */
-		this.positions = Generator.getPositions(sudoku);//TODO remove again
-		
-		// initialize new SolverSudoku with the fields of the specified one
-		for(Position p : this.positions)
+		if(getSudokuType().getNumberOfSymbols() > Integer.SIZE)
 		{
-			cells.put(p, (Cell) sudoku.getCell(p).clone());
+			throw new IllegalArgumentException("SolverSudoku supports at most " + Integer.SIZE + " symbols");
 		}
 		
-		// initialize the constraints lists for each position and the initial
-		// candidates for each field
-		this.constraints = new PositionMap<>(this.getSudokuType().getSize());
-		for(Position p : positions)
-		{
-			this.constraints.put(p, new ArrayList<Constraint>());
-		}
+		this.setComplexity(sudoku.getComplexity());//transfer complexity as well
 		
-		//if we were functional
-		//this.constraints = new PositionMap<>(this.getSudokuType().getSize());
-		//this.positions.stream().forEach(p -> this.constraints.put(p, new ArrayList<>()));
+		this.topology = getSudokuType().getTopology();
+		this.positions = topology.getPositions();
 		
-		// add the constraints each position belongs to to the list
-		Iterable<Constraint> allConstraints = sudoku.getSudokuType();
-		for(Constraint constr : allConstraints)
+		// initialize new SolverSudoku with the fields of the specified one
+		int numberOfCells = topology.getNumberOfCells();
+		this.cellArray = new Cell[numberOfCells];
+		for(int i = 0; i < numberOfCells; i++)
 		{
-			for(Position pos : constr.getPositions())
-			{
-				this.constraints.get(pos).add(constr);
-			}
+			Position p = topology.getPosition(i);
+			Cell c = (Cell) sudoku.getCell(p).clone();
+			cells.put(p, c);
+			cellArray[i] = c;
 		}
 		
-		// initialize the candidates map
-		this.positionPool = new PositionMapPool(getSudokuType().getSize(), positions);
+		// initialize the candidates and branchings
+		this.candidates = new int[numberOfCells];
+		this.numberOfSymbols = getSudokuType().getNumberOfSymbols();
+		this.places = new int[topology.getNumberOfConstraints() * numberOfSymbols];
+		this.pendingSingles = new long[(numberOfCells + Long.SIZE - 1) / Long.SIZE];
+		this.buckets = new long[numberOfSymbols + 1][pendingSingles.length];
+		this.bucketSizes = new int[numberOfSymbols + 1];
+		this.constraintVersions = new long[topology.getNumberOfConstraints()];
+		this.trail = new int[4 * numberOfCells];
+		this.trailSize = 0;
 		this.branchPool = new BranchingPool();
-		this.currentCandidates = this.positionPool.getPositionMap();
-		
-		// initialize the candidate lists and branchings
 		this.branchings = new Stack<>();
 		
 		switch(mode)
@@ -156,22 +206,92 @@ public class SolverSudoku extends Sudoku
 				break;
 			case USE_EXISTING:
 				//solverSudoku's fields take the candidates/notes from sudoku
-				for(Position p : positions)
+				for(int i = 0; i < numberOfCells; i++)
 				{
-					if(sudoku.getCell(p).isNotSolved())
+					Cell original = sudoku.getCell(topology.getPosition(i));
+					if(original.isNotSolved())
 					{
-						for(int i : getSudokuType().getSymbolIterator())
+						for(int symbol : getSudokuType().getSymbolIterator())
 						{
-							if(sudoku.getCell(p).isNoteSet(i) != currentCandidates.get(p).get(i))
+							if(original.isNoteSet(symbol))
 							{
-								currentCandidates.get(p).flip(i);
+								candidates[i] |= 1 << symbol;
 							}
 						}
 					}
 				}
+				rebuildPlaces();
+				recount();
 		}
 	}
 	
+	/**
+	 * Richtet dieses SolverSudoku auf die eingetragenen Werte und die Schwierigkeit des spezifizierten Sudokus aus,
+	 * anschließend werden die Kandidaten wie beim Erzeugen neu berechnet. Alle Puffer werden wiederverwendet, so dass
+	 * ein Solver für viele Belegungen desselben Sudokutyps genutzt werden kann.
+	 *
+	 * @param sudoku
+	 *            Das Sudoku, dessen Werte übernommen werden. Es wird weder verändert noch gespeichert.
+	 * @throws IllegalArgumentException
+	 *             Wird geworfen, falls das Sudoku null ist oder einen anderen Typ hat
+	 */
+	public void reset(Sudoku sudoku)
+	{
+		if(sudoku == null || sudoku.getSudokuType().getEnumType() != getSudokuType().getEnumType())
+		{
+			throw new IllegalArgumentException("sudoku must be of type " + getSudokuType().getEnumType());
+		}
+		this.setComplexity(sudoku.getComplexity());
+		for(int i = 0; i < cellArray.length; i++)
+		{
+			Position p = topology.getPosition(i);
+			Cell source = sudoku.getCell(p);
+			if(cellArray[i].isEditable())
+			{
+				cellArray[i].setCurrentValue(source.getCurrentValue(), false);
+			}
+			else
+			{
+				replaceCell(i, (Cell) source.clone()); //a fixed cell ignores new values
+			}
+		}
+		resetCandidates();
+	}
+	
+	/**
+	 * Trägt die spezifizierten Werte in die Felder ein und berechnet die Kandidaten neu. Nicht editierbare Felder,
+	 * deren Wert sich ändert, werden durch editierbare ersetzt.
+	 *
+	 * @param givens
+	 *            Die Werte nach Feld-ID, {@link Cell#EMPTYVAL} für leere Felder
+	 * @throws IllegalArgumentException
+	 *             Wird geworfen, falls givens null ist, nicht für jedes Feld einen Wert enthält oder ein Wert ungültig ist
+	 */
+	public void reset(int[] givens)
+	{
+		if(givens == null || givens.length != cellArray.length)
+		{
+			throw new IllegalArgumentException("one value per cell is needed");
+		}
+		for(int i = 0; i < cellArray.length; i++)
+		{
+			Cell cell = cellArray[i];
+			if(!cell.isEditable() && cell.getCurrentValue() != givens[i])
+			{
+				cell = new Cell(cell.getId(), cell.getNumberOfValues());
+				replaceCell(i, cell);
+			}
+			cell.setCurrentValue(givens[i], false);
+		}
+		resetCandidates();
+	}
+	
+	private void replaceCell(int cell, Cell replacement)
+	{
+		cells.put(topology.getPosition(cell), replacement);
+		cellArray[cell] = replacement;
+	}
+	
 	/**
 	 * Setzt die Kandidatenlisten aller Felder zurück, sodass alle Kandidatenlisten komplett befüllt sind. "Komplett"
 	 * wird anhand des größten Constraints in dem sich dieses Feld befindet bemessen. Anschließend werden die
@@ -180,27 +300,367 @@ public class SolverSudoku extends Sudoku
 	public void resetCandidates()
 	{
 		this.complexityValue = 0;
+		this.branchComplexityValue = 0;
 		
 		// delete the branchings
 		this.branchPool.recycleAllBranchings();
-		this.positionPool.returnAll();
 		this.branchings.clear();
+		this.trailSize = 0;
 		
-		this.currentCandidates = this.positionPool.getPositionMap();
 		// set the candidate lists of all fields to maximum
-		for(Position p : this.positions)
+		int allSymbols = allSymbolsMask();
+		for(int i = 0; i < candidates.length; i++)
 		{
-			if(cells.get(p).isNotSolved())
+			candidates[i] = cellArray[i].isNotSolved() ? allSymbols : 0;
+		}
+		
+		updateCandidates();
+	}
+	
+	/*
+	 * Zählt die ungelösten Felder und die Felder ohne Kandidaten neu, merkt alle Felder mit genau einem Kandidaten
+	 * vor und teilt die übrigen nach Anzahl ihrer Kandidaten ein. Nötig, nachdem das Kandidaten-Array als Ganzes ersetzt wurde.
+	 */
+	private void recount()
+	{
+		Arrays.fill(constraintVersions, ++version); //everything may have changed
+		unsolvedCells = 0;
+		cellsWithoutCandidates = 0;
+		Arrays.fill(pendingSingles, 0);
+		for(long[] bucket : buckets)
+		{
+			Arrays.fill(bucket, 0);
+		}
+		Arrays.fill(bucketSizes, 0);
+		for(int cell = 0; cell < candidates.length; cell++)
+		{
+			moveBucket(cell, 0, Integer.bitCount(candidates[cell]));
+			if(cellArray[cell].isNotSolved())
 			{
-				this.currentCandidates.get(p).set(0, getSudokuType().getNumberOfSymbols());
+				unsolvedCells++;
+				if(candidates[cell] == 0)
+				{
+					cellsWithoutCandidates++;
+				}
+			}
+			if(Integer.bitCount(candidates[cell]) == 1)
+			{
+				pendingSingles[cell >>> 6] |= 1L << cell;
 			}
 		}
-
-		/*this.positions.stream()
-						.filter(p -> fields.get(p).isNotSolved())
-						.forEach(p -> this.currentCandidates.get(p).set(0, getSudokuType().getNumberOfSymbols()));
-		functional*/
-		updateCandidates();
+	}
+	
+	/*
+	 * Setzt die Kandidaten eines ungelösten Feldes und hält die Zähler und die vorgemerkten Naked Singles aktuell.
+	 * Innerhalb eines Branches wird die alte Maske im Undo-Log vermerkt.
+	 */
+	private void setCandidates(int cell, int mask)
+	{
+		int old = candidates[cell];
+		if(old == mask)
+		{
+			return;
+		}
+		if(!branchings.isEmpty())
+		{
+			reserveTrail(2);
+			trail[trailSize++] = old;
+			trail[trailSize++] = cell;
+		}
+		applyCandidates(cell, old, mask);
+	}
+	
+	/* sets the candidates without recording them, keeps places, buckets, counters and naked singles up to date */
+	private void applyCandidates(int cell, int old, int mask)
+	{
+		candidates[cell] = mask;
+		movePlaces(cell, old ^ mask);
+		moveBucket(cell, Integer.bitCount(old), Integer.bitCount(mask));
+		touch(cell);
+		if(cellArray[cell].isNotSolved())
+		{
+			if(old == 0)
+			{
+				cellsWithoutCandidates--;
+			}
+			else if(mask == 0)
+			{
+				cellsWithoutCandidates++;
+			}
+		}
+		if(Integer.bitCount(mask) == 1)
+		{
+			pendingSingles[cell >>> 6] |= 1L << cell;
+		}
+	}
+	
+	/* makes room for the specified number of entries in the undo log */
+	private void reserveTrail(int entries)
+	{
+		if(trailSize + entries > trail.length)
+		{
+			trail = Arrays.copyOf(trail, 2 * trail.length + entries);
+		}
+	}
+	
+	/*
+	 * Macht alle aufgezeichneten Änderungen bis zur Marke in umgekehrter Reihenfolge rückgängig. Kosten entstehen nur für
+	 * die Änderungen, die seit der Marke tatsächlich vorgenommen wurden.
+	 */
+	private void unwindTrail(int mark)
+	{
+		while(trailSize > mark)
+		{
+			int cell = trail[--trailSize];
+			if(cell >= 0)
+			{
+				applyCandidates(cell, candidates[cell], trail[--trailSize]);
+			}
+			else
+			{
+				cell = ~cell;
+				int oldCandidates = trail[--trailSize];
+				int oldValue = trail[--trailSize];
+				Cell f = cellArray[cell];
+				boolean wasSolved = !f.isNotSolved();
+				f.setCurrentValue(oldValue, false);
+				if(wasSolved && f.isNotSolved())
+				{
+					unsolvedCells++;
+					if(oldCandidates == 0)
+					{
+						cellsWithoutCandidates++;
+					}
+				}
+				movePlaces(cell, oldCandidates);
+				moveBucket(cell, 0, Integer.bitCount(oldCandidates));
+				candidates[cell] = oldCandidates;
+				touch(cell);
+				if(Integer.bitCount(oldCandidates) == 1)
+				{
+					pendingSingles[cell >>> 6] |= 1L << cell;
+				}
+			}
+		}
+	}
+	
+	/* toggles the cell in the places of all symbols in changed, for all its constraints */
+	private void movePlaces(int cell, int changed)
+	{
+		if(changed == 0)
+		{
+			return;
+		}
+		int[] constraints = topology.getConstraintsOfCell(cell);
+		int[] indices = topology.getIndicesInConstraints(cell);
+		for(int n = 0; n < constraints.length; n++)
+		{
+			if(indices[n] < Integer.SIZE)
+			{
+				int bit = 1 << indices[n];
+				int base = constraints[n] * numberOfSymbols;
+				for(int m = changed; m != 0; m &= m - 1)
+				{
+					places[base + Integer.numberOfTrailingZeros(m)] ^= bit;
+				}
+			}
+		}
+	}
+	
+	/*
+	 * Berechnet die Places aller Constraints neu, nötig nachdem das Kandidaten-Array direkt verändert wurde.
+	 */
+	private void rebuildPlaces()
+	{
+		Arrays.fill(places, 0);
+		for(int cell = 0; cell < candidates.length; cell++)
+		{
+			movePlaces(cell, candidates[cell]);
+		}
+	}
+	
+	/**
+	 * Gibt die Felder des spezifizierten Constraints zurück, in denen das spezifizierte Symbol noch Kandidat ist. Die
+	 * Maske wird bei jeder Änderung der Kandidaten nachgeführt, die Abfrage kostet also keine Suche.
+	 *
+	 * @param constraint
+	 *            die Constraint-ID, {@link SudokuTopology#hasCellMasks(int)} muss für sie gelten
+	 * @param symbol
+	 *            das Symbol
+	 * @return Bitmaske, Bit i ist gesetzt, falls das Symbol Kandidat des i-ten Feldes in
+	 *         {@link SudokuTopology#getCellsOfConstraint(int)} ist
+	 */
+	public int getPlaces(int constraint, int symbol)
+	{
+		return places[constraint * numberOfSymbols + symbol];
+	}
+	
+	/* moves the cell from the bucket of oldCount candidates to the one of newCount candidates */
+	private void moveBucket(int cell, int oldCount, int newCount)
+	{
+		if(oldCount == newCount)
+		{
+			return;
+		}
+		if(oldCount > 1)
+		{
+			buckets[oldCount][cell >>> 6] &= ~(1L << cell);
+			bucketSizes[oldCount]--;
+		}
+		if(newCount > 1)
+		{
+			buckets[newCount][cell >>> 6] |= 1L << cell;
+			bucketSizes[newCount]++;
+		}
+	}
+	
+	/**
+	 * Gibt unter den Feldern mit den wenigsten, aber mindestens zwei Kandidaten das mit der kleinsten Feld-ID zurück.
+	 * Die Felder werden nach Anzahl der Kandidaten geführt, die Suche hängt also nur von der Anzahl der Symbole ab.
+	 *
+	 * @return die Feld-ID oder -1, falls kein Feld mehr als einen Kandidaten hat
+	 */
+	public int getCellWithFewestCandidates()
+	{
+		for(int count = 2; count < bucketSizes.length; count++)
+		{
+			if(bucketSizes[count] > 0)
+			{
+				return nextCellWithCandidateCount(count, 0);
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Gibt die kleinste Feld-ID ab from zurück, deren Feld genau count Kandidaten hat.
+	 *
+	 * @param count
+	 *            die Anzahl der Kandidaten, mindestens 2
+	 * @param from
+	 *            die kleinste Feld-ID, die zurückgegeben werden darf
+	 * @return die Feld-ID oder -1, falls es ab from kein solches Feld gibt
+	 */
+	public int nextCellWithCandidateCount(int count, int from)
+	{
+		long[] bucket = buckets[count];
+		int word = from >>> 6;
+		if(word >= bucket.length)
+		{
+			return -1;
+		}
+		long bits = bucket[word] & (-1L << from);
+		while(bits == 0)
+		{
+			if(++word == bucket.length)
+			{
+				return -1;
+			}
+			bits = bucket[word];
+		}
+		return (word << 6) + Long.numberOfTrailingZeros(bits);
+	}
+	
+	/* marks all constraints of the cell as changed */
+	private void touch(int cell)
+	{
+		long v = ++version;
+		for(int c : topology.getConstraintsOfCell(cell))
+		{
+			constraintVersions[c] = v;
+		}
+	}
+	
+	/**
+	 * Gibt die aktuelle Version dieses Sudokus zurück. Sie wird bei jeder Änderung an Kandidaten oder eingetragenen
+	 * Lösungen erhöht und nie zurückgesetzt.
+	 *
+	 * @return die aktuelle Version
+	 */
+	public long getVersion()
+	{
+		return version;
+	}
+	
+	/**
+	 * Gibt die Version der letzten Änderung an den Kandidaten oder Lösungen der Felder des spezifizierten Constraints
+	 * zurück. Ist sie nicht größer als eine früher mit {@link #getVersion()} abgefragte Version, hat sich der
+	 * Constraint seitdem nicht verändert.
+	 *
+	 * @param constraint die Constraint-ID
+	 * @return die Version der letzten Änderung
+	 */
+	public long getConstraintVersion(int constraint)
+	{
+		return constraintVersions[constraint];
+	}
+	
+	/**
+	 * Gibt die kleinste Feld-ID ab from zurück, deren Feld genau einen Kandidaten hat. Es werden nur Felder betrachtet,
+	 * deren Kandidaten sich seit dem letzten Zurücksetzen geändert haben, die Kosten hängen also von der Anzahl der
+	 * Änderungen und nicht von der Anzahl der Felder ab.
+	 *
+	 * @param from die kleinste Feld-ID, die zurückgegeben werden darf
+	 * @return die Feld-ID eines Naked Singles oder -1 falls es ab from keines gibt
+	 */
+	public int nextNakedSingle(int from)
+	{
+		int word = from >>> 6;
+		if(word >= pendingSingles.length)
+		{
+			return -1;
+		}
+		long bits = pendingSingles[word] & (-1L << from);
+		while(true)
+		{
+			while(bits == 0)
+			{
+				if(++word == pendingSingles.length)
+				{
+					return -1;
+				}
+				bits = pendingSingles[word];
+			}
+			int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+			bits &= bits - 1;
+			if(Integer.bitCount(candidates[cell]) == 1)
+			{
+				return cell;
+			}
+			pendingSingles[word] &= ~(1L << cell); //stale
+		}
+	}
+	
+	/**
+	 * Gibt zurück, ob es ein ungelöstes Feld ohne Kandidaten gibt, das Sudoku also invalide ist. Läuft in konstanter
+	 * Zeit.
+	 *
+	 * @return true, falls ein ungelöstes Feld keine Kandidaten mehr hat
+	 */
+	public boolean hasCellWithoutCandidates()
+	{
+		return cellsWithoutCandidates > 0;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Felder zurück, in denen keine Lösung eingetragen ist. Werte, die von außen direkt in die
+	 * Felder eingetragen werden, werden erst nach dem nächsten {@link #resetCandidates()} berücksichtigt.
+	 *
+	 * @return die Anzahl der ungelösten Felder
+	 */
+	public int getNumberOfUnsolvedCells()
+	{
+		return unsolvedCells;
+	}
+	
+	/**
+	 * Gibt eine Bitmaske zurück, in der alle Symbole des Sudokutyps gesetzt sind.
+	 *
+	 * @return eine Bitmaske mit allen Symbolen
+	 */
+	public int allSymbolsMask()
+	{
+		return numberOfSymbols == Integer.SIZE ? -1 : (1 << numberOfSymbols) - 1;
 	}
 	
 	/**
@@ -223,21 +683,14 @@ public class SolverSudoku extends Sudoku
 			throw new IllegalArgumentException("Position was null or does not exist in this sudoku.");
 		}
 		
-		// initialize a new branch and copy candidate lists of current branch
+		// initialize a new branch, it only remembers where its changes begin in the undo log
 		Branching branch = this.branchPool.getBranching(pos, candidate);//create new branch
-		branch.candidates = currentCandidates;                          //store current candidates there
-		this.currentCandidates = this.positionPool.getPositionMap();    //current candidates in a new (empty) PositionMap
-		
-		for(Position p : this.positions)
-		{
-			this.currentCandidates.get(p).or(branch.candidates.get(p)); //fill currentCandidates with candidates from before branching
-		}
+		branch.trailMark = trailSize;
 		
 		this.branchings.push(branch);//put branch (i.e. a backup of what we had before this method was called) on branchings (which seems to be identical to branchpool.branchesinactiveuse)
 		
 		//the candidate given as parameter is entered as a (user solution)
-		this.currentCandidates.get(pos).clear();
-		this.currentCandidates.get(pos).set(candidate);
+		setCandidates(getCellIndex(pos), 1 << candidate);
 	}
 	
 	/**
@@ -249,40 +702,19 @@ public class SolverSudoku extends Sudoku
 	{
 		// there is a slight chance that we work with an unsolvable sudoku
 		// then we might backtrack to a point where there are no branches left
-		// and in that case returning null is better than failing
-		//if(this.branchings.isEmpty())
-		//    return null;
-
-		/* We're talking about two branches here:
-		   B the current branch at the start of the method
-		   A that which was before B (possibly another branch) */
-		
-		// delete old branch and remove the candidate used for branching from
-		// candidates list
+		// and in that case returning is better than failing
 		if(this.branchings.empty())
 		{
 			return;
 		}
 		
 		Branching lastBranching = this.branchings.pop();
-		currentCandidates = lastBranching.candidates;//override current branch B with A
-		for(Position p : lastBranching.solutionsSet)
-		{
-			cells.get(p).setCurrentValue(Cell.EMPTYVAL, false);//remove solutions added in B
-		}
+		unwindTrail(lastBranching.trailMark);//undo candidate changes and solutions of this branch
 		
 		this.complexityValue -= lastBranching.complexityValue;//substract cmplx scores of techniques that are not used after all
+		this.branchComplexityValue -= lastBranching.complexityValue;
 		
-		//BitSet branchCandidates = this.currentCandidates.get(lastBranching.position);//candidates of A at critical pos of A
-		//branchCandidates.clear(lastBranching.candidate);//since we're deleting B, guessing this candidate led to failure -> it is not part of solution, we need to delete it
 		this.branchPool.recycleLastBranching();
-		this.positionPool.returnPositionMap();
-		//if (branchCandidates.isEmpty()) {
-		//    //no candidate was applicable -> backtrack even further
-		//	/*return*/ killCurrentBranch();
-		//} else {
-		//	//return lastBranching.position; //return
-		//}
 	}
 	
 	public Branching getLastBranch()
@@ -301,28 +733,24 @@ public class SolverSudoku extends Sudoku
 	 */
 	void updateCandidates()
 	{
-		ArrayList<Constraint> updatedConstraints;
-		ArrayList<Position> updatedPositions;
 		boolean isInvalid = false;
 		
-		for(Position position : positions)
+		for(int cell = 0; cell < candidates.length; cell++)
 		{
-			if(!isInvalid && !getCell(position).isNotSolved())
+			if(!isInvalid && !cellArray[cell].isNotSolved())
 			{
 				// Update fields in unique constraints
-				updatedConstraints = this.constraints.get(position);
-				for(Constraint uConstraint : updatedConstraints)
+				int keep = ~(1 << cellArray[cell].getCurrentValue());
+				for(int c : topology.getConstraintsOfCell(cell))
 				{
-					if(!isInvalid && uConstraint.hasUniqueBehavior())
+					if(!isInvalid && topology.isUnique(c))
 					{
-						updatedPositions = uConstraint.getPositions();
-						for(int up = 0; up < updatedPositions.size() && !isInvalid; up++)
+						int[] updatedCells = topology.getCellsOfConstraint(c);
+						for(int up = 0; up < updatedCells.length && !isInvalid; up++)
 						{
-							Position updatedPosition = updatedPositions.get(up);
-							this.currentCandidates.get(updatedPosition).clear(getCell(position).getCurrentValue());
-							if(this.currentCandidates.get(updatedPosition).isEmpty()
-									&& getCell(updatedPosition).isNotSolved()
-							)
+							int updatedCell = updatedCells[up];
+							candidates[updatedCell] &= keep;
+							if(candidates[updatedCell] == 0 && cellArray[updatedCell].isNotSolved())
 							{
 								isInvalid = true;
 							}
@@ -330,44 +758,40 @@ public class SolverSudoku extends Sudoku
 					}
 				}
 			}
-			else
+			else if(topology.isInNonUniqueConstraint(cell))
 			{
 				/* Update candidates in non-unique constraints */
-				boolean hasNonUnique = false;
-				updatedConstraints = this.constraints.get(position);
-				for(Constraint updatedConstraint : updatedConstraints)
-				{
-					if(!updatedConstraint.hasUniqueBehavior())
-					{
-						hasNonUnique = true;
-						break;
-					}
-				}
-				//boolean hasNonUnique = updatedConstraints.stream().anyMatch(c -> !c.hasUniqueBehavior());
-				if(hasNonUnique)
+				updateNonUniqueCandidates(cell);
+			}
+		}
+		rebuildPlaces();
+		recount();
+	}
+	
+	/**
+	 * Entfernt alle Kandidaten des spezifizierten Feldes, bei deren Eintragung ein Constraint des Feldes nicht mehr
+	 * erfüllt wäre. Dazu wird jeder Kandidat kurz in das Feld eingetragen.
+	 *
+	 * @param cell die Feld-ID
+	 */
+	private void updateNonUniqueCandidates(int cell)
+	{
+		Cell currentCell = cellArray[cell];
+		int remaining = candidates[cell];
+		for(int m = candidates[cell]; m != 0; m &= m - 1)
+		{
+			int currentCandidate = Integer.numberOfTrailingZeros(m);
+			currentCell.setCurrentValue(currentCandidate, false);
+			for(int c : topology.getConstraintsOfCell(cell))
+			{
+				if(!topology.getConstraint(c).isSaturated(this))
 				{
-					Cell currentCell = null;
-					BitSet currentCandidatesSet = null;
-					currentCell = this.cells.get(position);
-					currentCandidatesSet = this.currentCandidates.get(position);
-					int currentCandidate = -1;
-					int numberOfCandidates = currentCandidatesSet.cardinality();
-					for(int i = 0; i < numberOfCandidates; i++)
-					{
-						currentCandidate = currentCandidatesSet.nextSetBit(currentCandidate + 1);
-						currentCell.setCurrentValue(currentCandidate, false);
-						for(Constraint updatedConstraint : updatedConstraints)
-						{
-							if(!updatedConstraint.isSaturated(this))
-							{
-								currentCandidatesSet.clear(currentCandidate);
-							}
-						}
-						currentCell.setCurrentValue(Cell.EMPTYVAL, false);
-					}
+					remaining &= ~(1 << currentCandidate);
 				}
 			}
+			currentCell.setCurrentValue(Cell.EMPTYVAL, false);
 		}
+		setCandidates(cell, remaining);
 	}
 	
 	/**
@@ -388,37 +812,26 @@ public class SolverSudoku extends Sudoku
 			return;
 		}
 		
-		ArrayList<Constraint> updatedConstraints = this.constraints.get(pos);
-		ArrayList<Position> updatedPositions;
-		ArrayList<Constraint> checkedConstraints;
-		for(Constraint constr : updatedConstraints)
+		int cell = getCellIndex(pos);
+		int keep = ~(1 << candidate);
+		for(int peer : topology.getPeers(cell))
 		{
-			updatedPositions = constr.getPositions();
-			for(Position uPos : updatedPositions)
+			if(cellArray[peer].isNotSolved())
 			{
-				if(this.cells.get(uPos).isNotSolved())
+				setCandidates(peer, candidates[peer] & keep);
+			}
+		}
+		if(topology.isInNonUniqueConstraint(cell))
+		{
+			for(int c : topology.getConstraintsOfCell(cell))
+			{
+				if(!topology.isUnique(c))
 				{
-					if(constr.hasUniqueBehavior())
+					for(int updatedCell : topology.getCellsOfConstraint(c))
 					{
-						this.currentCandidates.get(uPos).clear(candidate);
-					}
-					else
-					{
-						int currentCandidate = -1;
-						int numberOfCandidates = this.currentCandidates.get(uPos).cardinality();
-						for(int i = 0; i < numberOfCandidates; i++)
+						if(cellArray[updatedCell].isNotSolved())
 						{
-							currentCandidate = this.currentCandidates.get(uPos).nextSetBit(currentCandidate + 1);
-							this.cells.get(uPos).setCurrentValue(currentCandidate, false);
-							checkedConstraints = constraints.get(uPos);
-							for(Constraint checkedConstraint : checkedConstraints)
-							{
-								if(!checkedConstraint.isSaturated(this))
-								{
-									this.currentCandidates.get(uPos).clear(currentCandidate);
-								}
-							}
-							this.cells.get(uPos).setCurrentValue(Cell.EMPTYVAL, false);
+							updateNonUniqueCandidates(updatedCell);
 						}
 					}
 				}
@@ -443,13 +856,30 @@ public class SolverSudoku extends Sudoku
 			return;
 		}
 		
-		cells.get(pos).setCurrentValue(candidate, false);
-		
-		currentCandidates.get(pos).clear();
+		int cell = getCellIndex(pos);
+		Cell f = cellArray[cell];
 		if(hasBranch())
 		{
-			branchings.peek().solutionsSet.add(pos);
+			reserveTrail(3);
+			trail[trailSize++] = f.getCurrentValue();
+			trail[trailSize++] = candidates[cell];
+			trail[trailSize++] = ~cell;
 		}
+		boolean wasUnsolved = f.isNotSolved();
+		f.setCurrentValue(candidate, false);
+		if(wasUnsolved && !f.isNotSolved())
+		{
+			unsolvedCells--;
+			if(candidates[cell] == 0)
+			{
+				cellsWithoutCandidates--;
+			}
+		}
+		
+		movePlaces(cell, candidates[cell]);
+		moveBucket(cell, Integer.bitCount(candidates[cell]), 0);
+		candidates[cell] = 0;
+		touch(cell);
 		updateCandidates(pos, candidate);
 	}
 	
@@ -477,17 +907,249 @@ public class SolverSudoku extends Sudoku
 	}
 	
 	/**
-	 * Gibt die Kandidatenliste der spezifizierten Position zurück.
+	 * Gibt eine Kopie der Kandidatenliste der spezifizierten Position zurück. Änderungen an der zurückgegebenen Menge
+	 * wirken sich nicht auf das Sudoku aus, dazu sind {@link #removeCandidates(Position, int)} bzw.
+	 * {@link #retainCandidates(Position, int)} zu verwenden.
 	 *
 	 * @param pos
 	 *            Die Position, dessen Kandidatenliste abgerufen werden soll
-	 * @return Die Kandidatenliste der übergebenen Position
+	 * @return Eine Kopie der Kandidatenliste der übergebenen Position
 	 * @throws IllegalArgumentException
 	 *             Wird geworfen, falls die spezifizierte Position ungültig ist
 	 */
 	public CandidateSet getCurrentCandidates(Position pos)
 	{
-		return this.currentCandidates.get(pos);
+		return CandidateSet.fromBitMask(getCandidateMask(pos));
+	}
+	
+	/**
+	 * Gibt die Kandidaten der spezifizierten Position als Bitmaske zurück.
+	 *
+	 * @param pos
+	 *            Die Position, dessen Kandidaten abgerufen werden sollen
+	 * @return Die Kandidaten als Bitmaske, Bit i steht für Kandidat i
+	 * @throws IllegalArgumentException
+	 *             Wird geworfen, falls die spezifizierte Position ungültig ist
+	 */
+	public int getCandidateMask(Position pos)
+	{
+		return candidates[checkedCellIndex(pos)];
+	}
+	
+	/**
+	 * Gibt die Kandidaten des Feldes mit der spezifizierten Feld-ID als Bitmaske zurück.
+	 *
+	 * @param cell
+	 *            Die Feld-ID
+	 * @return Die Kandidaten als Bitmaske, Bit i steht für Kandidat i
+	 */
+	public int getCandidateMask(int cell)
+	{
+		return candidates[cell];
+	}
+	
+	/**
+	 * Entfernt den spezifizierten Kandidaten aus der Kandidatenliste der spezifizierten Position.
+	 *
+	 * @param pos
+	 *            Die Position, dessen Kandidat entfernt werden soll
+	 * @param candidate
+	 *            Der zu entfernende Kandidat
+	 * @return true, falls der Kandidat vorhanden war
+	 */
+	public boolean removeCandidate(Position pos, int candidate)
+	{
+		return removeCandidates(pos, 1 << candidate);
+	}
+	
+	/**
+	 * Entfernt alle Kandidaten der spezifizierten Bitmaske aus der Kandidatenliste der spezifizierten Position.
+	 *
+	 * @param pos
+	 *            Die Position, dessen Kandidaten entfernt werden sollen
+	 * @param mask
+	 *            Die zu entfernenden Kandidaten als Bitmaske
+	 * @return true, falls sich die Kandidatenliste verändert hat
+	 */
+	public boolean removeCandidates(Position pos, int mask)
+	{
+		return removeCandidates(checkedCellIndex(pos), mask);
+	}
+	
+	/**
+	 * Entfernt alle Kandidaten der spezifizierten Bitmaske aus der Kandidatenliste des Feldes mit der spezifizierten
+	 * Feld-ID.
+	 *
+	 * @param cell
+	 *            Die Feld-ID
+	 * @param mask
+	 *            Die zu entfernenden Kandidaten als Bitmaske
+	 * @return true, falls sich die Kandidatenliste verändert hat
+	 */
+	public boolean removeCandidates(int cell, int mask)
+	{
+		int old = candidates[cell];
+		setCandidates(cell, old & ~mask);
+		return old != candidates[cell];
+	}
+	
+	/**
+	 * Entfernt alle Kandidaten, die nicht in der spezifizierten Bitmaske enthalten sind, aus der Kandidatenliste der
+	 * spezifizierten Position.
+	 *
+	 * @param pos
+	 *            Die Position, dessen Kandidaten eingeschränkt werden sollen
+	 * @param mask
+	 *            Die Kandidaten, die erhalten bleiben dürfen, als Bitmaske
+	 * @return true, falls sich die Kandidatenliste verändert hat
+	 */
+	public boolean retainCandidates(Position pos, int mask)
+	{
+		return removeCandidates(pos, ~mask);
+	}
+	
+	/**
+	 * Entfernt alle Kandidaten, die nicht in der spezifizierten Bitmaske enthalten sind, aus der Kandidatenliste des
+	 * Feldes mit der spezifizierten Feld-ID.
+	 *
+	 * @param cell
+	 *            Die Feld-ID
+	 * @param mask
+	 *            Die Kandidaten, die erhalten bleiben dürfen, als Bitmaske
+	 * @return true, falls sich die Kandidatenliste verändert hat
+	 */
+	public boolean retainCandidates(int cell, int mask)
+	{
+		return removeCandidates(cell, ~mask);
+	}
+	
+	/**
+	 * Gibt die Feld-ID der spezifizierten Position zurück.
+	 *
+	 * @param pos
+	 *            eine Position
+	 * @return die Feld-ID, bzw. -1 falls an der Position kein Feld ist
+	 */
+	public int getCellIndex(Position pos)
+	{
+		return topology.getCellIndex(pos);
+	}
+	
+	private int checkedCellIndex(Position pos)
+	{
+		if(pos == null)
+		{
+			throw new IllegalArgumentException("pos was null");
+		}
+		int cell = getCellIndex(pos);
+		if(cell < 0)
+		{
+			throw new IllegalArgumentException("invalid position: " + pos);
+		}
+		return cell;
+	}
+	
+	/**
+	 * Gibt die Position zur spezifizierten Feld-ID zurück.
+	 *
+	 * @param cell
+	 *            die Feld-ID
+	 * @return die Position des Feldes
+	 */
+	public Position getPosition(int cell)
+	{
+		return topology.getPosition(cell);
+	}
+	
+	/**
+	 * Gibt das Feld mit der spezifizierten Feld-ID zurück.
+	 *
+	 * @param cell
+	 *            die Feld-ID
+	 * @return das Feld
+	 */
+	public Cell getCellById(int cell)
+	{
+		return cellArray[cell];
+	}
+	
+	/**
+	 * Gibt die Anzahl der Felder dieses Sudokus zurück, d.h. die Feld-IDs liegen in [0, getNumberOfCells()).
+	 *
+	 * @return die Anzahl der Felder
+	 */
+	public int getNumberOfCells()
+	{
+		return candidates.length;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Constraints zurück, d.h. die Constraint-IDs liegen in [0, getNumberOfConstraints()).
+	 *
+	 * @return die Anzahl der Constraints
+	 */
+	public int getNumberOfConstraints()
+	{
+		return topology.getNumberOfConstraints();
+	}
+	
+	/**
+	 * Gibt den Constraint mit der spezifizierten Constraint-ID zurück.
+	 *
+	 * @param constraint
+	 *            die Constraint-ID
+	 * @return den Constraint
+	 */
+	public Constraint getConstraint(int constraint)
+	{
+		return topology.getConstraint(constraint);
+	}
+	
+	/**
+	 * Gibt zurück, ob der Constraint mit der spezifizierten ID ein UniqueConstraintBehavior hat.
+	 *
+	 * @param constraint
+	 *            die Constraint-ID
+	 * @return true, falls der Constraint unique ist
+	 */
+	public boolean isUniqueConstraint(int constraint)
+	{
+		return topology.isUnique(constraint);
+	}
+	
+	/**
+	 * Gibt die Feld-IDs des Constraints mit der spezifizierten ID zurück. Das Array darf nicht verändert werden.
+	 *
+	 * @param constraint
+	 *            die Constraint-ID
+	 * @return die Feld-IDs in der Reihenfolge der Positionen des Constraints
+	 */
+	public int[] getCellsOfConstraint(int constraint)
+	{
+		return topology.getCellsOfConstraint(constraint);
+	}
+	
+	/**
+	 * Gibt die IDs der Constraints zurück, in denen das spezifizierte Feld liegt. Das Array darf nicht verändert
+	 * werden.
+	 *
+	 * @param cell
+	 *            die Feld-ID
+	 * @return die Constraint-IDs
+	 */
+	public int[] getConstraintsOfCell(int cell)
+	{
+		return topology.getConstraintsOfCell(cell);
+	}
+	
+	/**
+	 * Gibt den Topologie-Index des Sudokutyps zurück, dessen Feld-IDs auch dieses Sudoku verwendet.
+	 *
+	 * @return den Topologie-Index
+	 */
+	public SudokuTopology getTopology()
+	{
+		return topology;
 	}
 	
 	/**
@@ -506,6 +1168,7 @@ public class SolverSudoku extends Sudoku
 			if(branchings.size() > 0)
 			{
 				branchings.peek().complexityValue += value;
+				this.branchComplexityValue += value;
 			}
 			this.complexityValue += value;
 		}
@@ -521,119 +1184,21 @@ public class SolverSudoku extends Sudoku
 		return this.complexityValue;
 	}
 	
-	public List<Position> getPositions()
-	{
-		return positions;
-	}
-	
 	/**
-	 * Diese Klasse stellt einen Pool von PositionMaps auf BitSets zur Verfügung, sodass benutzte PositionMaps nicht
-	 * verfallen, sondern im Pool behalten und für eine weitere Nutzung vorgehalten werden.
+	 * Gibt den Teil der Schwierigkeit zurück, der außerhalb aller offenen Branches angefallen ist. Er kann durch
+	 * Backtracking nicht mehr abgezogen werden, die Schwierigkeit nach dem Lösen ist also mindestens so groß.
+	 *
+	 * @return Die Schwierigkeit ohne den Anteil der offenen Branches
 	 */
-	private static class PositionMapPool
+	public int getCommittedComplexityValue()
 	{
-		/**
-		 * Eine Liste der erstellten, noch nicht vergebenen Maps
-		 */
-		private Stack<PositionMap<CandidateSet>> unusedMaps;
-		
-		/**
-		 * Ein Stack der erstellten und bereits vergebenen Maps
-		 */
-		private Stack<PositionMap<CandidateSet>> usedMaps;
-		
-		/**
-		 * Die Größe der Verwalteten PositionMaps
-		 */
-		private Position currentDimension;
-		
-		/**
-		 * Die Positionen
-		 */
-		private List<Position> positions;
-		
-		/**
-		 * Initialisiert einen neues PositionMapPool mit PositionMaps der spezifizierten Größe. Die dimension sollte
-		 * nicht null oder gleich 0 sein, die positions sollten ebenfalls nicht null sein und denen des Sudokus
-		 * entsprechen.
-		 *
-		 * @param dimension
-		 *            Die Größe der verwalteten PositionMaps
-		 */
-		public PositionMapPool(Position dimension, List<Position> positions)
-		{
-			// Keine Überprüfung der Eingabesituation, da nur lokal genutzt
-			this.positions = positions;
-			this.currentDimension = dimension;
-			
-			usedMaps = new Stack<>();
-			unusedMaps = new Stack<>();
-			unusedMaps.push(initialisePositionMap());
-			unusedMaps.push(initialisePositionMap());
-		}
-		
-		/**
-		 * Gibt eine PositionMap entsprechend der aktuell gesetzten Größe zurück. Ist der Pool leer, so wird seine Größe
-		 * verdoppelt.
-		 *
-		 * @return Eine PositionMap entsprechend der aktuell gesetzten Größe
-		 */
-		public PositionMap<CandidateSet> getPositionMap()
-		{
-			if(unusedMaps.size() == 0)
-			{
-				unusedMaps.add(this.initialisePositionMap());
-			}
-			
-			PositionMap<CandidateSet> ret = unusedMaps.pop();
-			usedMaps.push(ret);
-			return ret;
-		}
-		
-		/**
-		 * Gibt die zuletzt geholte PositionMap an den Pool zurück.
-		 */
-		public void returnPositionMap()
-		{
-			if(!usedMaps.isEmpty())
-			{
-				PositionMap<CandidateSet> returnedMap = usedMaps.pop();
-				for(Position pos : this.positions)
-				{
-					returnedMap.get(pos).clear();
-				}
-				unusedMaps.push(returnedMap);
-			}
-		}
-		
-		/**
-		 * Initialisiert eine neue PositionMap der im Konstruktor definierten Größe und gibt diese zurück.
-		 *
-		 * @return Eine neue PositionMap der im Konstruktor definierten Größe
-		 */
-		private PositionMap<CandidateSet> initialisePositionMap()
-		{
-			PositionMap<CandidateSet> newMap = new PositionMap<>(currentDimension);
-			for(Position pos : this.positions)
-			{
-				newMap.put(pos, new CandidateSet());
-			}
-			
-			return newMap;
-		}
-		
-		/**
-		 * Gibt alle PositionMaps an den Pool zurück.
-		 */
-		public void returnAll()
-		{
-			while(!this.usedMaps.empty())
-			{
-				returnPositionMap();
-			}
-		}
+		return this.complexityValue - this.branchComplexityValue;
 	}
 	
+	public List<Position> getPositions()
+	{
+		return positions;
+	}
 	
 	/**
 	 * Determines whether Lists a,b have a common(by equals) element
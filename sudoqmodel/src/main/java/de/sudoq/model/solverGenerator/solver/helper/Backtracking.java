@@ -1,10 +1,6 @@
 package de.sudoq.model.solverGenerator.solver.helper;
 
 import java.util.BitSet;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Stack;
 
 import de.sudoq.model.solverGenerator.solution.DerivationCell;
 import de.sudoq.model.solverGenerator.solution.SolveDerivation;
@@ -22,6 +18,11 @@ import de.sudoq.model.sudoku.Position;
  */
 public class Backtracking extends SolveHelper
 {
+	/**
+	 * Gibt an, ob unter gleich vielen Kandidaten das Feld mit den meisten ungelösten Nachbarn gewählt wird
+	 */
+	private final boolean degreeTieBreak;
+	
 	/* Constructors */
 	
 	/**
@@ -32,9 +33,24 @@ public class Backtracking extends SolveHelper
 	 * @throws IllegalArgumentException Wird geworfen, falls das Sudoku null oder die complexity kleiner als 0 ist
 	 */
 	public Backtracking(SolverSudoku sudoku, int complexity)
+	{
+		this(sudoku, complexity, false);
+	}
+	
+	/**
+	 * Erzeugt einen neuen Backtracking Helfer für das spezifizierte Sudoku.
+	 *
+	 * @param sudoku Das Sudoku auf dem dieser Helper operieren soll
+	 * @param complexity Die Schwierigkeit der Anwendbarkeit dieses Lösungshelfers
+	 * @param degreeTieBreak Falls true, wird unter den Feldern mit den wenigsten Kandidaten das mit den meisten
+	 *            ungelösten Nachbarn gewählt, sonst das mit der kleinsten Feld-ID
+	 * @throws IllegalArgumentException Wird geworfen, falls das Sudoku null oder die complexity kleiner als 0 ist
+	 */
+	public Backtracking(SolverSudoku sudoku, int complexity, boolean degreeTieBreak)
 	{
 		super(sudoku, complexity);
 		hintType = HintTypes.Backtracking;
+		this.degreeTieBreak = degreeTieBreak;
 	}
 	
 	/* Methods */
@@ -42,8 +58,9 @@ public class Backtracking extends SolveHelper
 	/**
 	 * Wendet das Backtracking-Verfahren an und ermittelt damit die Lösung für alle Felder des Sudokus. Es wird die
 	 * Kandidatenliste desjenigen Feldes mit der kleinsten Kandidatenliste upgedated, sodass in dieser nur noch die
-	 * korrekte Lösung vorhanden ist. Gibt es keine eindeutige kleinste Kandidatenliste, so wird diese zufällig
-	 * ausgewählt.
+	 * korrekte Lösung vorhanden ist. Gibt es keine eindeutige kleinste Kandidatenliste, so wird die mit der kleinsten
+	 * Feld-ID bzw. (siehe {@link #Backtracking(SolverSudoku, int, boolean)}) die mit den meisten ungelösten Nachbarn
+	 * gewählt.
 	 *
 	 * @param buildDerivation Bestimmt, ob beim Finden eines Subsets eine Herleitung dafür erstellt werden soll, welche daraufhin mit getDerivation abgerufen werden kann.
 	 * @return true, falls das Backtracking angewendet werden konnte, false falls nicht
@@ -53,23 +70,19 @@ public class Backtracking extends SolveHelper
 		lastDerivation = null;
 		
 		// find among positions with several possible candidates one with minimal #candidates
-		
-		//filter for all positions with more than one candidate
-		List<Position> ambiguousPositions = getAmbiguous();
-		if(ambiguousPositions.isEmpty())
+		int cell = this.sudoku.getCellWithFewestCandidates();
+		if(cell < 0) //if none was found
 		{
 			return false;
 		}
-		
-		//take the position with minimal candidates
-		Position leastCandidatesPosition = getMinimalCandidatesPosition(ambiguousPositions);
-		if(leastCandidatesPosition == null) //if none was found
+		if(degreeTieBreak)
 		{
-			return false;
+			cell = getMostConstrainedCell(cell);
 		}
+		Position leastCandidatesPosition = this.sudoku.getPosition(cell);
 		
-		BitSet candidates = (BitSet) this.sudoku.getCurrentCandidates(leastCandidatesPosition).clone();
-		int chosenCandidate = this.sudoku.getCurrentCandidates(leastCandidatesPosition).nextSetBit(0);
+		BitSet candidates = this.sudoku.getCurrentCandidates(leastCandidatesPosition);
+		int chosenCandidate = Integer.numberOfTrailingZeros(this.sudoku.getCandidateMask(leastCandidatesPosition));
 		this.sudoku.startNewBranch(leastCandidatesPosition, chosenCandidate);
 		
 		// UNCOMMENT THE FOLLOWING TO PRINT BACKTRACKING TRACE
@@ -93,40 +106,31 @@ public class Backtracking extends SolveHelper
 		return true;
 	}
 	
-	private List<Position> getAmbiguous()
+	/* among the cells with as many candidates as first, the one with the most unsolved peers, the first one on ties */
+	private int getMostConstrainedCell(int first)
 	{
-		Stack<Position> ambiguousPositions = new Stack<>();
-		for(Position p : this.sudoku.getPositions())
+		int count = Integer.bitCount(this.sudoku.getCandidateMask(first));
+		int best = first;
+		int maxDegree = -1;
+		for(int cell = first; cell >= 0; cell = this.sudoku.nextCellWithCandidateCount(count, cell + 1))
 		{
-			int cardinality = this.sudoku.getCurrentCandidates(p).cardinality();
-			if(cardinality > 1)
+			int degree = 0;
+			for(int peer : this.sudoku.getTopology().getPeers(cell))
 			{
-				ambiguousPositions.push(p);
+				if(this.sudoku.getCellById(peer).isNotSolved())
+				{
+					degree++;
+				}
 			}
-		}
-		return ambiguousPositions;
-	}
-	
-	private Position getMinimalCandidatesPosition(List<Position> ambiguousPositions)
-	{
-		Comparator<Position> compareCardinality = new Comparator<Position>()
-		{
-			private int getCardinality(Position p)
-			{
-				return sudoku.getCurrentCandidates(p).cardinality();
-			}
-			
-			@Override
-			public int compare(Position p1, Position p2)
+			if(degree > maxDegree)
 			{
-				return getCardinality(p1) - getCardinality(p2); //neg if cardinality(p1) < cardinality(p2), zero if eq, pos ...
+				maxDegree = degree;
+				best = cell;
 			}
-		};
-		
-		return Collections.min(ambiguousPositions, compareCardinality);
+		}
+		return best;
 	}
 	
-	
 	/**
 	 * {@inheritDoc}
 	 *
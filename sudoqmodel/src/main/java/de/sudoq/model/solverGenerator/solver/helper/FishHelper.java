@@ -0,0 +1,356 @@
+package de.sudoq.model.solverGenerator.solver.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.sudoq.model.solverGenerator.solution.DerivationCell;
+import de.sudoq.model.solverGenerator.solution.XWingDerivation;
+import de.sudoq.model.solverGenerator.solver.SolverSudoku;
+import de.sudoq.model.solvingAssistant.HintTypes;
+import de.sudoq.model.sudoku.CandidateSet;
+import de.sudoq.model.sudoku.Position;
+import de.sudoq.model.sudoku.Utils;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTopology;
+
+/**
+ * Dieser konkrete SolveHelper sucht nach Fischen der Größe n (n = 2: X-Wing, 3: Swordfish, 4: Jellyfish).
+ * Idea:
+ *   We have n disjoint base lines (rows or columns) in which a note appears only in cells that lie in n disjoint
+ *   cover lines of the other orientation.
+ *   Every base line has to contain the note exactly once, so the n notes of the base lines occupy all n cover lines
+ *   and the note can be deleted in every other cell of the cover lines.
+ *
+ * The rows and columns and their crossings are determined once, the search then only combines the places of a note
+ * (see {@link SolverSudoku#getPlaces(int, int)}) as bitmasks over the lines of the other orientation.
+ */
+public class FishHelper extends SolveHelper
+{
+	private static final HintTypes[] labels = new HintTypes[] {
+			HintTypes.XWing,
+			HintTypes.Swordfish,
+			HintTypes.Jellyfish
+	};
+	
+	private static final int ROWS = 0;
+	private static final int COLUMNS = 1;
+	
+	/* the size n of the fish */
+	private final int size;
+	
+	/* constraint ids of the rows / columns, determined on first use. At most 64 per orientation, masks are longs */
+	private int[][] lines;
+	
+	/* orientation, line, index of a cell in the line -> lines of the other orientation that contain the cell */
+	private long[][][] crossing;
+	
+	/* orientation, line -> lines of the same orientation that share a cell with it */
+	private long[][] overlapping;
+	
+	/* orientation, line -> can it be a base line, i.e. does every symbol appear in it exactly once */
+	private boolean[][] complete;
+	
+	/* base line candidates of the current search, the lines crossing their places and the lines that have to be
+	 * cover lines because a place lies in no other line of that orientation */
+	private int[] candidateLines;
+	private long[] candidateCovers;
+	private long[] candidateForced;
+	
+	/**
+	 * Erzeugt einen neuen FishHelper für das spezifizierte Suduoku mit der spezifizierten Größe.
+	 *
+	 * @param sudoku Das Sudoku auf dem dieser Helper operieren soll
+	 * @param size Die Anzahl der Zeilen bzw. Spalten des Fisches, 2 bis 4
+	 * @param complexity Die Schwierigkeit der Anwendung dieser Vorgehensweise
+	 * @throws IllegalArgumentException Wird geworfen, falls die Größe nicht zwischen 2 und 4 liegt
+	 */
+	public FishHelper(SolverSudoku sudoku, int size, int complexity)
+	{
+		super(sudoku, complexity);
+		if(size < 2 || size > labels.length + 1)
+		{
+			throw new IllegalArgumentException("size must be ∈ [2," + (labels.length + 1) + "] but is " + size);
+		}
+		this.size = size;
+		hintType = labels[size - 2];
+	}
+	
+	@Override
+	public boolean update(boolean buildDerivation)
+	{
+		SudokuTopology topology = sudoku.getTopology();
+		if(lines == null)
+		{
+			initializeLines(topology);
+		}
+		
+		beginScan();
+		
+		//nothing can be found if no line changed since the last unsuccessful scan
+		boolean changed = false;
+		for(int[] orientation : lines)
+		{
+			for(int line : orientation)
+			{
+				changed |= !isUnchanged(line);
+			}
+		}
+		if(!changed)
+		{
+			return endScan(false);
+		}
+		
+		int symbols = sudoku.getSudokuType().getNumberOfSymbols();
+		for(int note = 0; note < symbols; note++)
+		{
+			if(findFish(topology, ROWS, note, buildDerivation) || findFish(topology, COLUMNS, note, buildDerivation))
+			{
+				return true;
+			}
+		}
+		return endScan(false);
+	}
+	
+	private void initializeLines(SudokuTopology topology)
+	{
+		lines = new int[][] {
+				usableLines(topology, Utils.ConstraintShape.Row),
+				usableLines(topology, Utils.ConstraintShape.Column)
+		};
+		crossing = new long[2][][];
+		overlapping = new long[2][];
+		complete = new boolean[2][];
+		int symbols = sudoku.getSudokuType().getNumberOfSymbols();
+		for(int o = 0; o < 2; o++)
+		{
+			int[] own = lines[o];
+			
+			/* cell id -> lines of the other orientation */
+			long[] linesOfCell = new long[topology.getNumberOfCells()];
+			int[] other = lines[1 - o];
+			for(int m = 0; m < other.length; m++)
+			{
+				for(int cell : topology.getCellsOfConstraint(other[m]))
+				{
+					linesOfCell[cell] |= 1L << m;
+				}
+			}
+			
+			crossing[o] = new long[own.length][];
+			overlapping[o] = new long[own.length];
+			complete[o] = new boolean[own.length];
+			for(int l = 0; l < own.length; l++)
+			{
+				int[] cells = topology.getCellsOfConstraint(own[l]);
+				crossing[o][l] = new long[cells.length];
+				for(int i = 0; i < cells.length; i++)
+				{
+					crossing[o][l][i] = linesOfCell[cells[i]];
+				}
+				for(int m = 0; m < own.length; m++)
+				{
+					if(m != l && topology.getIntersection(own[l], own[m]).length > 0)
+					{
+						overlapping[o][l] |= 1L << m;
+					}
+				}
+				complete[o][l] = cells.length == symbols;
+			}
+		}
+		int maxLines = Math.max(lines[ROWS].length, lines[COLUMNS].length);
+		candidateLines = new int[maxLines];
+		candidateCovers = new long[maxLines];
+		candidateForced = new long[maxLines];
+	}
+	
+	/* unique constraints of the shape whose places are available, none if there are more than fit into a long */
+	private static int[] usableLines(SudokuTopology topology, Utils.ConstraintShape shape)
+	{
+		int[] ofShape = topology.getConstraintsOfShape(shape);
+		int[] usable = new int[ofShape.length];
+		int n = 0;
+		for(int c : ofShape)
+		{
+			if(topology.isUnique(c) && topology.hasCellMasks(c))
+			{
+				usable[n++] = c;
+			}
+		}
+		return n > Long.SIZE ? new int[0] : Arrays.copyOf(usable, n);
+	}
+	
+	/* looks for a fish of the note with base lines of orientation o */
+	private boolean findFish(SudokuTopology topology, int o, int note, boolean buildDerivation)
+	{
+		int[] own = lines[o];
+		int n = 0;
+		for(int l = 0; l < own.length; l++)
+		{
+			if(!complete[o][l])
+			{
+				continue;
+			}
+			int places = sudoku.getPlaces(own[l], note);
+			int count = Integer.bitCount(places);
+			if(2 <= count && count <= size)
+			{
+				long cover = 0;
+				long forced = 0;
+				boolean covered = true;
+				for(; places != 0; places &= places - 1)
+				{
+					long crossingLines = crossing[o][l][Integer.numberOfTrailingZeros(places)];
+					covered &= crossingLines != 0;
+					cover |= crossingLines;
+					if(Long.bitCount(crossingLines) == 1)
+					{
+						forced |= crossingLines;
+					}
+				}
+				if(covered && Long.bitCount(forced) <= size) //a place outside of all lines of the other orientation can't be covered
+				{
+					candidateLines[n] = l;
+					candidateCovers[n] = cover;
+					candidateForced[n] = forced;
+					n++;
+				}
+			}
+		}
+		return n >= size && combine(topology, o, note, 0, 0, 0L, 0L, 0L, n, buildDerivation);
+	}
+	
+	/* chooses the remaining base lines from candidateLines[from..n), base, forced and cover are masks over the lines */
+	private boolean combine(SudokuTopology topology, int o, int note, int depth, int from, long base, long forced,
+							long cover, int n, boolean buildDerivation)
+	{
+		if(depth == size)
+		{
+			return chooseCover(topology, o, note, base, forced, cover & ~forced, size - Long.bitCount(forced),
+			                   buildDerivation);
+		}
+		for(int i = from; i <= n - (size - depth); i++)
+		{
+			int l = candidateLines[i];
+			long newForced = forced | candidateForced[i];
+			if((overlapping[o][l] & base) != 0 || Long.bitCount(newForced) > size)
+			{
+				continue;
+			}
+			if(combine(topology, o, note, depth + 1, i + 1, base | 1L << l, newForced, cover | candidateCovers[i], n,
+			           buildDerivation))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/*
+	 * adds the missing lines from optional to the cover lines. Usually all places lie in exactly one line of the
+	 * other orientation and there is nothing to choose, only places in overlapping parts (e.g. of samurai sudokus)
+	 * leave a choice.
+	 */
+	private boolean chooseCover(SudokuTopology topology, int o, int note, long base, long cover, long optional,
+								int missing, boolean buildDerivation)
+	{
+		if(missing == 0)
+		{
+			return coversAllPlaces(o, note, base, cover) && eliminate(topology, o, note, base, cover, buildDerivation);
+		}
+		for(long rest = optional; Long.bitCount(rest) >= missing; rest &= rest - 1)
+		{
+			long line = rest & -rest;
+			if(chooseCover(topology, o, note, base, cover | line, rest & ~line, missing - 1, buildDerivation))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/* does every place of the note in the base lines lie in one of the cover lines? */
+	private boolean coversAllPlaces(int o, int note, long base, long cover)
+	{
+		for(long b = base; b != 0; b &= b - 1)
+		{
+			int l = Long.numberOfTrailingZeros(b);
+			for(int places = sudoku.getPlaces(lines[o][l], note); places != 0; places &= places - 1)
+			{
+				if((crossing[o][l][Integer.numberOfTrailingZeros(places)] & cover) == 0)
+				{
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+	
+	/* deletes the note in the cover lines outside of the base lines, returns whether something was deleted */
+	private boolean eliminate(SudokuTopology topology, int o, int note, long base, long cover, boolean buildDerivation)
+	{
+		int[] own = lines[o];
+		int[] other = lines[1 - o];
+		
+		//the cover lines have to be disjoint as well
+		for(long c = cover; c != 0; c &= c - 1)
+		{
+			if((overlapping[1 - o][Long.numberOfTrailingZeros(c)] & cover) != 0)
+			{
+				return false;
+			}
+		}
+		
+		List<Position> deleted = buildDerivation ? new ArrayList<Position>() : null;
+		boolean found = false;
+		for(long c = cover; c != 0; c &= c - 1)
+		{
+			int coverLine = other[Long.numberOfTrailingZeros(c)];
+			int inBase = 0;
+			for(long b = base; b != 0; b &= b - 1)
+			{
+				inBase |= topology.getIntersectionMask(coverLine, own[Long.numberOfTrailingZeros(b)]);
+			}
+			int[] cells = topology.getCellsOfConstraint(coverLine);
+			for(int removable = sudoku.getPlaces(coverLine, note) & ~inBase; removable != 0; removable &= removable - 1)
+			{
+				int cell = cells[Integer.numberOfTrailingZeros(removable)];
+				sudoku.removeCandidates(cell, 1 << note);
+				if(buildDerivation)
+				{
+					deleted.add(topology.getPosition(cell));
+				}
+				found = true;
+			}
+		}
+		
+		if(found && buildDerivation)
+		{
+			buildDerivation(topology, own, base, other, cover, deleted, note);
+		}
+		return found;
+	}
+	
+	private void buildDerivation(SudokuTopology topology, int[] own, long base, int[] other, long cover,
+								 List<Position> deleted, int note)
+	{
+		XWingDerivation internalDerivation = new XWingDerivation(hintType);
+		for(long b = base; b != 0; b &= b - 1)
+		{
+			internalDerivation.addLockedConstraint(topology.getConstraint(own[Long.numberOfTrailingZeros(b)]));
+		}
+		for(long c = cover; c != 0; c &= c - 1)
+		{
+			internalDerivation.addReducibleConstraint(topology.getConstraint(other[Long.numberOfTrailingZeros(c)]));
+		}
+		for(Position p : deleted)
+		{
+			CandidateSet relevant = new CandidateSet();
+			relevant.set(note);
+			CandidateSet irrelevant = new CandidateSet();
+			
+			internalDerivation.addDerivationCell(new DerivationCell(p, relevant, irrelevant));
+		}
+		internalDerivation.setNote(note);
+		lastDerivation = internalDerivation;
+	}
+}
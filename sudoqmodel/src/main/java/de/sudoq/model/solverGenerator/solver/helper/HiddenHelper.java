@@ -1,15 +1,12 @@
 package de.sudoq.model.solverGenerator.solver.helper;
 
-import java.util.ArrayList;
 import java.util.BitSet;
-import java.util.List;
 
 import de.sudoq.model.solverGenerator.solution.DerivationCell;
 import de.sudoq.model.solverGenerator.solution.HiddenSetDerivation;
 import de.sudoq.model.solverGenerator.solver.SolverSudoku;
 import de.sudoq.model.solvingAssistant.HintTypes;
-import de.sudoq.model.sudoku.Constraint;
-import de.sudoq.model.sudoku.Position;
+import de.sudoq.model.sudoku.CandidateSet;
 
 /**
  * Dieser konkrete SolveHelper implementiert eine Vorgehensweise zum Lösen eines Sudokus.
@@ -69,46 +66,43 @@ public class HiddenHelper extends SubsetHelper
 	 * Collect all candidates appearing in this constraint.
 	 * This is 'hidden'-specific code for the template method in superclass
 	 *
-	 * @param constraint Constraint object
-	 * @return BitSet of all candidates in the constraint
+	 * @return bitmask of all candidates in the constraint
 	 */
 	@Override
-	protected BitSet collectPossibleCandidates(Constraint constraint)
+	protected int collectPossibleCandidates()
 	{
-		BitSet constraintSet = new BitSet();
-		for(Position pos : constraint.getPositions())
+		int constraintSet = 0;
+		for(int i = 0; i < unitSize; i++)
 		{
-			constraintSet.or(this.sudoku.getCurrentCandidates(pos));
+			constraintSet |= unitCandidates[i];
 		}
 		//now we have constraintSet of all candidates in the constraint
 		return constraintSet;
-		
 	}
 	
 	@Override
-	protected boolean updateNext(Constraint constraint, boolean buildDerivation)
+	protected boolean updateNext(int constraint, boolean buildDerivation)
 	{
 		boolean foundSubset;
 		derivation = null;
-		ArrayList<Position> positions = constraint.getPositions();
 		
 		do
 		{
-			// Count and save all the positions whose candidates are a subset of
+			// Count and save all the fields whose candidates intersect
 			// currentSet i.e. the one to be checked for,
-			int subsetCount = filterForSubsets(positions);
-			//subsetPositions = {p | p ∈ positions, p.candidates ⊆ currentSet && p.candidates ∩ currentSet ≠ ø }
+			int subset = currentSet;
+			int subsetCount = filterForSubsets(constraint, subset);
+			//subsetCells = {c | c ∈ unit, c.candidates ∩ currentSet ≠ ø }
 			
 			// If a subset was found, look through all fields in the subset whether there is one that has more candidates than currentSet -> something can be removed
 			foundSubset = false;
 			if(subsetCount == this.level)
 			{
-				for(Position pos : subsetPositions)
+				for(int i = 0; i < subsetSize; i++)
 				{
-					BitSet currentCandidates = this.sudoku.getCurrentCandidates(pos);
-					localCopy.assignWith(currentCandidates);// localCopy <- currentCand...
-					currentCandidates.and(currentSet);
-					if(!currentCandidates.equals(localCopy))
+					int cell = subsetCells[i];
+					int currentCandidates = this.sudoku.getCandidateMask(cell);
+					if(this.sudoku.retainCandidates(cell, subset))
 					{
 						// If something changed, a field could be updated, so
 						// the helper is applied
@@ -122,10 +116,9 @@ public class HiddenHelper extends SubsetHelper
 								lastDerivation = derivation;
 							}
 							
-							BitSet relevantCandidates = (BitSet) currentCandidates.clone();
-							BitSet irrelevantCandidates = localCopy;
-							irrelevantCandidates.andNot(currentSet);
-							DerivationCell field = new DerivationCell(pos, relevantCandidates, irrelevantCandidates);
+							BitSet relevantCandidates = CandidateSet.fromBitMask(currentCandidates & subset);
+							BitSet irrelevantCandidates = CandidateSet.fromBitMask(currentCandidates & ~subset);
+							DerivationCell field = new DerivationCell(sudoku.getPosition(cell), relevantCandidates, irrelevantCandidates);
 							lastDerivation.addDerivationCell(field);
 						}
 						foundSubset = true;
@@ -133,40 +126,53 @@ public class HiddenHelper extends SubsetHelper
 				}
 			}
 		}
-		while(!foundSubset && constraintSet.cardinality() > this.level && getNextSubset());
+		while(!foundSubset && getNextSubset());
 		
 		return foundSubset;
 	}
 	
 	/*
-	 * counts the number of Positions whose candidates are a subset of currentSet -> eligible
-	 * stores the first 'level' of those in subsetPositions
+	 * counts the number of fields whose candidates intersect currentSet -> eligible
+	 * and stores them in subsetCells
+	 * uses the places of the subset's candidates if the constraint has them
 	 */
-	private int filterForSubsets(List<Position> positions)
+	private int filterForSubsets(int constraint, int subset)
 	{
-		subsetPositions.clear();
-		for(Position pos : positions)
+		subsetSize = 0;
+		if(sudoku.getTopology().hasCellMasks(constraint))
+		{
+			int places = 0;
+			for(int m = subset; m != 0; m &= m - 1)
+			{
+				places |= sudoku.getPlaces(constraint, Integer.numberOfTrailingZeros(m));
+			}
+			for(; places != 0; places &= places - 1)
+			{
+				subsetCells[subsetSize++] = unitCells[Integer.numberOfTrailingZeros(places)];
+			}
+			return subsetSize;
+		}
+		for(int i = 0; i < unitSize; i++)
 		{
-			BitSet currentCandidates = this.sudoku.getCurrentCandidates(pos);
-			if(!currentCandidates.isEmpty() && currentCandidates.intersects(currentSet)) //TODO why check for empty??
+			int currentCandidates = unitCandidates[i];
+			if(currentCandidates != 0 && (currentCandidates & subset) != 0) //TODO why check for empty??
 			{
-				subsetPositions.add(pos);
+				subsetCells[subsetSize++] = unitCells[i];
 			}
 		}
-		return subsetPositions.size();
+		return subsetSize;
 	}
 	
-	private HiddenSetDerivation initializeDerivation(Constraint constraint)
+	private HiddenSetDerivation initializeDerivation(int constraint)
 	{
 		HiddenSetDerivation derivation = new HiddenSetDerivation(hintType);
 		derivation.setDescription("hidden helper (" + hintType + ")");
-		derivation.setConstraint(constraint);
-		derivation.setSubsetCandidates(currentSet);
-		for(Position p : subsetPositions)
+		derivation.setConstraint(sudoku.getConstraint(constraint));
+		derivation.setSubsetCandidates(CandidateSet.fromBitMask(currentSet));
+		for(int i = 0; i < subsetSize; i++)
 		{
-			BitSet relevantCandidates = (BitSet) this.sudoku.getCurrentCandidates(p).clone();
-			relevantCandidates.and(currentSet);
-			DerivationCell field = new DerivationCell(p, relevantCandidates, new BitSet());
+			BitSet relevantCandidates = CandidateSet.fromBitMask(this.sudoku.getCandidateMask(subsetCells[i]) & currentSet);
+			DerivationCell field = new DerivationCell(sudoku.getPosition(subsetCells[i]), relevantCandidates, new BitSet());
 			derivation.addSubsetCell(field);
 		}
 		return derivation;
@@ -1,17 +1,19 @@
 package de.sudoq.model.solverGenerator.solver.helper;
 
-import java.util.Vector;
+import java.util.Arrays;
 
 import de.sudoq.model.solverGenerator.solution.LastCandidateDerivation;
 import de.sudoq.model.solverGenerator.solver.SolverSudoku;
 import de.sudoq.model.solvingAssistant.HintTypes;
-import de.sudoq.model.sudoku.Constraint;
-import de.sudoq.model.sudoku.Position;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTopology;
 
 public class LastCandidateHelper extends SolveHelper
 {
 	LastCandidateDerivation derivation;
 	
+	/* cells already looked at in the current update, by cell id */
+	private boolean[] seen;
+	
 	public LastCandidateHelper(SolverSudoku sudoku, int complexity) throws IllegalArgumentException
 	{
 		super(sudoku, complexity);
@@ -22,21 +24,28 @@ public class LastCandidateHelper extends SolveHelper
 	public boolean update(boolean buildDerivation)
 	{
 		//iterate through all positions of all constraints, none twice
-		Vector<Position> seen = new Vector<>();
-		for(Constraint c : sudoku.getSudokuType())
+		SudokuTopology topology = sudoku.getTopology();
+		if(seen == null)
+		{
+			seen = new boolean[topology.getNumberOfCells()];
+		}
+		Arrays.fill(seen, false);
+		beginScan();
+		for(int c = 0; c < topology.getNumberOfConstraints(); c++)
 		{
-			if(c.hasUniqueBehavior())
+			if(topology.isUnique(c) && !isUnchanged(c))
 			{
-				for(Position p : c)
+				for(int cell : topology.getCellsOfConstraint(c))
 				{
-					if(!seen.contains(p))
+					if(!seen[cell])
 					{
-						seen.add(p);
+						seen[cell] = true;
 						
-						if(sudoku.getCurrentCandidates(p).cardinality() == 1)
+						int candidates = sudoku.getCandidateMask(cell);
+						if(Integer.bitCount(candidates) == 1)
 						{
-							int lastNote = sudoku.getCurrentCandidates(p).nextSetBit(0);
-							derivation = new LastCandidateDerivation(p, lastNote);
+							int lastNote = Integer.numberOfTrailingZeros(candidates);
+							derivation = new LastCandidateDerivation(topology.getPosition(cell), lastNote);
 							lastDerivation = derivation;
 							return true;
 						}
@@ -45,6 +54,6 @@ public class LastCandidateHelper extends SolveHelper
 			}
 		}
 		
-		return false;
+		return endScan(false);
 	}
 }
@@ -69,9 +69,11 @@ public class LastDigitHelper extends SolveHelper
 		boolean foundOne = false;
 		Position candidate;
 		Vector<Position> remaining = new Vector<>();
-		for(Constraint c : sudoku.getSudokuType())
+		beginScan();
+		for(int k = 0; k < sudoku.getNumberOfConstraints(); k++)
 		{
-			if(c.hasUniqueBehavior())
+			Constraint c = sudoku.getConstraint(k);
+			if(c.hasUniqueBehavior() && !isUnchanged(k))
 			{
 				remaining.clear();
 				candidate = onlyOneLeft(c.getPositions(), remaining);
@@ -116,6 +118,6 @@ public class LastDigitHelper extends SolveHelper
 				}
 			}
 		}
-		return foundOne;
+		return endScan(foundOne);
 	}
 }
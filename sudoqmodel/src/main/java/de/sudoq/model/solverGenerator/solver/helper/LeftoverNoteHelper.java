@@ -3,9 +3,8 @@ package de.sudoq.model.solverGenerator.solver.helper;
 import de.sudoq.model.solverGenerator.solution.LeftoverNoteDerivation;
 import de.sudoq.model.solverGenerator.solver.SolverSudoku;
 import de.sudoq.model.solvingAssistant.HintTypes;
-import de.sudoq.model.sudoku.CandidateSet;
-import de.sudoq.model.sudoku.Constraint;
-import de.sudoq.model.sudoku.Position;
+import de.sudoq.model.sudoku.Cell;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTopology;
 
 public class LeftoverNoteHelper extends SolveHelper
 {
@@ -20,9 +19,11 @@ public class LeftoverNoteHelper extends SolveHelper
 	{
 		boolean foundOne = false;
 		
-		for(Constraint c : sudoku.getSudokuType())
+		SudokuTopology topology = sudoku.getTopology();
+		beginScan();
+		for(int c = 0; c < topology.getNumberOfConstraints(); c++)
 		{
-			if(c.hasUniqueBehavior() && hasLeftoverNotes(c))
+			if(topology.isUnique(c) && !isUnchanged(c) && hasLeftoverNotes(c))
 			{
 				
 				foundOne = true;
@@ -33,59 +34,57 @@ public class LeftoverNoteHelper extends SolveHelper
 				
 				if(buildDerivation)
 				{
-					lastDerivation = new LeftoverNoteDerivation(c, leftover);
+					lastDerivation = new LeftoverNoteDerivation(topology.getConstraint(c), leftover);
 				}
 				break;
 			}
 		}
 		
-		return foundOne;
+		return endScan(foundOne);
 	}
 	
-	protected boolean hasLeftoverNotes(Constraint c)
+	protected boolean hasLeftoverNotes(int c)
 	{
-		CandidateSet filled = new CandidateSet();
-		CandidateSet notes = new CandidateSet();
-		for(Position p : c)
-		{
-			if(sudoku.getCell(p).isNotSolved())
-			{
-				notes.or(sudoku.getCurrentCandidates(p)); //collect all notes
-			}
-			else
-			{
-				filled.set(sudoku.getCell(p).getCurrentValue()); //collect all entered solution
-			}
-		}
-		return filled.hasCommonElement(notes);
+		return getLeftoverNotes(c) != 0;
+	}
+	
+	private int getLeftoverNote(int c)
+	{
+		return Integer.numberOfTrailingZeros(getLeftoverNotes(c));
 	}
 	
-	private int getLeftoverNote(Constraint c)
+	/**
+	 * Returns all notes of unsolved cells in c that are already entered as solution somewhere else in c.
+	 *
+	 * @param c the id of the constraint to check
+	 * @return the leftover notes as bit mask
+	 */
+	private int getLeftoverNotes(int c)
 	{
-		CandidateSet filled = new CandidateSet();
-		CandidateSet notes = new CandidateSet();
-		for(Position p : c)
+		int filled = 0;
+		int notes = 0;
+		for(int cell : sudoku.getCellsOfConstraint(c))
 		{
-			if(sudoku.getCell(p).isNotSolved())
+			if(sudoku.getCellById(cell).isNotSolved())
 			{
-				notes.or(sudoku.getCurrentCandidates(p));
+				notes |= sudoku.getCandidateMask(cell); //collect all notes
 			}
 			else
 			{
-				filled.set(sudoku.getCell(p).getCurrentValue());
+				filled |= 1 << sudoku.getCellById(cell).getCurrentValue(); //collect all entered solution
 			}
 		}
-		filled.and(notes);
-		return filled.nextSetBit(0);
+		return filled & notes;
 	}
 	
-	private void deleteNote(Constraint c, int note)
+	private void deleteNote(int c, int note)
 	{
-		for(Position p : c)
+		for(int cell : sudoku.getCellsOfConstraint(c))
 		{
-			if(sudoku.getCell(p).isNotSolved() && sudoku.getCell(p).isNoteSet(note))
+			Cell f = sudoku.getCellById(cell);
+			if(f.isNotSolved() && f.isNoteSet(note))
 			{
-				sudoku.getCurrentCandidates(p).clear(note);
+				sudoku.removeCandidate(sudoku.getPosition(cell), note);
 			}
 		}
 	}
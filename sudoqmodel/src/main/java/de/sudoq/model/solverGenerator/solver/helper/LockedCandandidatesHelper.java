@@ -8,8 +8,10 @@ import de.sudoq.model.solverGenerator.solution.DerivationCell;
 import de.sudoq.model.solverGenerator.solution.LockedCandidatesDerivation;
 import de.sudoq.model.solverGenerator.solver.SolverSudoku;
 import de.sudoq.model.solvingAssistant.HintTypes;
+import de.sudoq.model.sudoku.CandidateSet;
 import de.sudoq.model.sudoku.Constraint;
 import de.sudoq.model.sudoku.Position;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTopology;
 
 /**Idea: We have 2 intersecting groups:
  *   I = I_only + intersection
@@ -22,6 +24,9 @@ import de.sudoq.model.sudoku.Position;
  */
 public class LockedCandandidatesHelper extends SolveHelper
 {
+	/* marks the cells of the intersection currently examined, indexed by cell id */
+	private boolean[] inIntersection;
+	
 	/**
 	 * Erzeugt einen neuen HiddenHelper für das spezifizierte Suduoku mit dem spezifizierten level. Der level entspricht
 	 * dabei der Größe der Symbolmenge nach der gesucht werden soll.
@@ -39,85 +44,123 @@ public class LockedCandandidatesHelper extends SolveHelper
 	@Override
 	public boolean update(boolean buildDerivation)
 	{
-		boolean success = false;
-		
-		List<Constraint> constraints = new ArrayList<>();
-		for(Constraint c : sudoku.getSudokuType())
+		SudokuTopology topology = sudoku.getTopology();
+		if(inIntersection == null)
 		{
-			constraints.add(c);
+			inIntersection = new boolean[topology.getNumberOfCells()];
 		}
-		/* compare all constraints */
-		for(int i = 0; i < constraints.size(); i++)
+		int symbols = sudoku.getSudokuType().getNumberOfSymbols();
+		
+		beginScan();
+		
+		/* compare all intersecting constraints, unless both are unchanged since the last unsuccessful scan */
+		for(int i = 0; i < topology.getNumberOfConstraints(); i++)
 		{
-			for(int j = i + 1; j < constraints.size(); j++)
+			for(int j : topology.getIntersectingConstraints(i))
 			{
-				/* if they intersect */
-				Constraint constraintI = constraints.get(i);
-				Constraint constraintJ = constraints.get(j);
-				List<Position> positionsI = constraintI.getPositions();
-				List<Position> positionsJ = constraintJ.getPositions();
-				if(intersect(positionsI, positionsJ))
+				if(j <= i || isUnchanged(i) && isUnchanged(j))
 				{
-					// get disjunctive sets of positions:
-					List<Position> common = intersection(positionsI, positionsJ);
-					List<Position> cutoutI = cut(positionsI, common); //Constraint I without intersection
-					List<Position> cutoutJ = cut(positionsJ, common); //Constraint J without intersection
-					
-					//all notes of such a set
-					BitSet commonNotes = collectNotes(common);
-					BitSet cutoutINotes = collectNotes(cutoutI);
-					BitSet cutoutJNotes = collectNotes(cutoutJ);
-					
-					/* look for notes of I that appear only in the intersection, and in J as well*/
-					//notes that appear in the intersection but not the rest of I
-					BitSet inIntersectionButNotInI = (BitSet) commonNotes.clone();
-					inIntersectionButNotInI.andNot(cutoutINotes);
-					
-					//do they also appear in rest of J?
-					BitSet removableNotes = (BitSet) inIntersectionButNotInI.clone();
-					removableNotes.and(cutoutJNotes);
-					List<Position> toBeRemovedFrom = cutoutJ;
-					Constraint reducibleConstraint = constraintJ;
-					Constraint lockedConstraint = constraintI;
-					
-					if(removableNotes.isEmpty())
-					{
-						//now do the other direction
-						/* look for notes of J that appear only in the intersection, and in I as well*/
-						//notes that appear in the intersection but not the rest of J
-						BitSet inIntersectionButNotInJ = (BitSet) commonNotes.clone();
-						inIntersectionButNotInJ.andNot(cutoutJNotes);
-						
-						//do they also appear in rest of I?
-						removableNotes = (BitSet) inIntersectionButNotInJ.clone();
-						removableNotes.and(cutoutINotes);
-						toBeRemovedFrom = cutoutI;
-						reducibleConstraint = constraintI;
-						lockedConstraint = constraintJ;
-					}
-					if(!removableNotes.isEmpty())
+					continue;
+				}
+				int[] cellsI = topology.getCellsOfConstraint(i);
+				int[] cellsJ = topology.getCellsOfConstraint(j);
+				int[] common = topology.getIntersection(i, j);
+				
+				//all notes of the intersection and of each constraint without it
+				for(int cell : common)
+				{
+					inIntersection[cell] = true;
+				}
+				int commonNotes;
+				int cutoutINotes;
+				int cutoutJNotes;
+				if(topology.hasCellMasks(i) && topology.hasCellMasks(j))
+				{
+					/* from the places of every symbol: where in I and J does it appear? */
+					int commonI = topology.getIntersectionMask(i, j);
+					int commonJ = topology.getIntersectionMask(j, i);
+					commonNotes = cutoutINotes = cutoutJNotes = 0;
+					for(int symbol = 0; symbol < symbols; symbol++)
 					{
-						success = true;
-						
-						if(buildDerivation)
+						int placesI = sudoku.getPlaces(i, symbol);
+						int placesJ = sudoku.getPlaces(j, symbol);
+						int bit = 1 << symbol;
+						if((placesI & commonI) != 0)
+						{
+							commonNotes |= bit;
+						}
+						if((placesI & ~commonI) != 0)
 						{
-							buildDerivation(lockedConstraint, reducibleConstraint, removableNotes, toBeRemovedFrom);
+							cutoutINotes |= bit;
 						}
-						
-						//remove first of all removable notes
-						int first = removableNotes.nextSetBit(0);
-						
-						for(Position p : toBeRemovedFrom)
+						if((placesJ & ~commonJ) != 0)
 						{
-							sudoku.getCurrentCandidates(p).clear(first);
+							cutoutJNotes |= bit;
 						}
-						
-						return true;
 					}
 				}
+				else
+				{
+					commonNotes = collectNotes(common);
+					cutoutINotes = collectNotesOutside(cellsI);
+					cutoutJNotes = collectNotesOutside(cellsJ);
+				}
+				
+				/* look for notes of I that appear only in the intersection, and in J as well*/
+				//notes that appear in the intersection but not the rest of I
+				int inIntersectionButNotInI = commonNotes & ~cutoutINotes;
+				
+				//do they also appear in rest of J?
+				int removableNotes = inIntersectionButNotInI & cutoutJNotes;
+				int[] toBeRemovedFrom = cellsJ;
+				int reducibleConstraint = j;
+				int lockedConstraint = i;
+				
+				if(removableNotes == 0)
+				{
+					//now do the other direction
+					/* look for notes of J that appear only in the intersection, and in I as well*/
+					//notes that appear in the intersection but not the rest of J
+					int inIntersectionButNotInJ = commonNotes & ~cutoutJNotes;
+					
+					//do they also appear in rest of I?
+					removableNotes = inIntersectionButNotInJ & cutoutINotes;
+					toBeRemovedFrom = cellsI;
+					reducibleConstraint = i;
+					lockedConstraint = j;
+				}
+				if(removableNotes != 0)
+				{
+					List<Position> cutout = new ArrayList<>(); //constraint without intersection
+					for(int cell : toBeRemovedFrom)
+					{
+						if(!inIntersection[cell])
+						{
+							cutout.add(topology.getPosition(cell));
+						}
+					}
+					clear(common);
+					
+					if(buildDerivation)
+					{
+						buildDerivation(topology.getConstraint(lockedConstraint), topology.getConstraint(reducibleConstraint),
+						                CandidateSet.fromBitMask(removableNotes), cutout);
+					}
+					
+					//remove first of all removable notes
+					int first = Integer.numberOfTrailingZeros(removableNotes);
+					
+					for(Position p : cutout)
+					{
+						sudoku.removeCandidate(p, first);
+					}
+					
+					return true;
+				}
+				clear(common);
 			}
 		}
-		return false;
+		return endScan(false);
 	}
 	
 	private void buildDerivation(Constraint lockedConstraint, Constraint reducibleConstraint,
@@ -139,7 +182,7 @@ public class LockedCandandidatesHelper extends SolveHelper
 		{
 			if(sudoku.getCurrentCandidates(p).get(first))
 			{
-				BitSet irrelevantCandidates = (BitSet) sudoku.getCurrentCandidates(p).clone();
+				BitSet irrelevantCandidates = sudoku.getCurrentCandidates(p);
 				irrelevantCandidates.clear(first);
 				lastDerivation.addDerivationCell(new DerivationCell(p, relevantCandidates, irrelevantCandidates));
 			}
@@ -149,59 +192,33 @@ public class LockedCandandidatesHelper extends SolveHelper
 		this.lastDerivation = lastDerivation;
 	}
 	
-	/**
-	 * Determines whether Lists a,b have a common(by equals) element
-	 * @param a
-	 * @param b
-	 * @param <T> any element in the list needs to have equals defined
-	 * @return true iff i.equals(j) == true for at least one i € a, j € b
-	 */
-	private static <T> boolean intersect(List<T> a, List<T> b)
+	private void clear(int[] common)
 	{
-		for(T t1 : a)
+		for(int cell : common)
 		{
-			for(T t2 : b)
-			{
-				if(t1.equals(t2))
-				{
-					return true;
-				}
-			}
+			inIntersection[cell] = false;
 		}
-		return false;
 	}
 	
-	public static <T> List<T> intersection(List<T> a, List<T> b)
+	private int collectNotes(int[] cells)
 	{
-		List<T> intersection = new ArrayList<>();
-		for(T t1 : a)
+		int merged = 0;
+		for(int cell : cells)
 		{
-			for(T t2 : b)
-			{
-				if(t1.equals(t2))
-				{
-					intersection.add(t1);
-				}
-			}
+			merged |= sudoku.getCandidateMask(cell);
 		}
-		return intersection;
-	}
-	
-	private static <T> List<T> cut(List<T> a, List<T> b)
-	{
-		List<T> cut = new ArrayList<>(a);
-		cut.removeAll(b);
-		return cut;
+		return merged;
 	}
 	
-	private BitSet collectNotes(List<Position> l)
+	/* notes of all cells that are not in the current intersection */
+	private int collectNotesOutside(int[] cells)
 	{
-		BitSet merged = new BitSet();
-		if(!l.isEmpty())
+		int merged = 0;
+		for(int cell : cells)
 		{
-			for(Position p : l)
+			if(!inIntersection[cell])
 			{
-				merged.or(sudoku.getCurrentCandidates(p));
+				merged |= sudoku.getCandidateMask(cell);
 			}
 		}
 		return merged;
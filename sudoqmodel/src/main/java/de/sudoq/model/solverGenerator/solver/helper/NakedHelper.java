@@ -1,16 +1,12 @@
 package de.sudoq.model.solverGenerator.solver.helper;
 
 import java.util.BitSet;
-import java.util.List;
-import java.util.Stack;
 
 import de.sudoq.model.solverGenerator.solution.DerivationCell;
 import de.sudoq.model.solverGenerator.solution.NakedSetDerivation;
 import de.sudoq.model.solverGenerator.solver.SolverSudoku;
 import de.sudoq.model.solvingAssistant.HintTypes;
 import de.sudoq.model.sudoku.CandidateSet;
-import de.sudoq.model.sudoku.Constraint;
-import de.sudoq.model.sudoku.Position;
 
 /**
  * Dieser konkrete SolveHelper implementiert eine Vorgehensweise zum Lösen eines Sudokus.
@@ -63,20 +59,19 @@ public class NakedHelper extends SubsetHelper
 	 * collect all candidates appearing in fields with maximum {@code level} candidates.
 	 * This is 'naked'-specific code for the template method in superclass
 	 *
-	 * @param constraint Constraint whose candidates are to be filtered
 	 * @return the possible candidates
 	 */
 	@Override
-	protected BitSet collectPossibleCandidates(Constraint constraint)
+	protected int collectPossibleCandidates()
 	{
-		BitSet possibleCandidates = new BitSet();
-		for(Position pos : constraint.getPositions())
+		int possibleCandidates = 0;
+		for(int i = 0; i < unitSize; i++)
 		{
-			BitSet currentCandidates = this.sudoku.getCurrentCandidates(pos);
-			byte nrCandidates = (byte) currentCandidates.cardinality();
+			int currentCandidates = unitCandidates[i];
+			int nrCandidates = Integer.bitCount(currentCandidates);
 			if(0 < nrCandidates && nrCandidates <= this.level) //we only want up to n candidates per field
 			{
-				possibleCandidates.or(currentCandidates);
+				possibleCandidates |= currentCandidates;
 			}
 		}
 		//now we have constraintSet of all candidates in the constraint
@@ -84,40 +79,31 @@ public class NakedHelper extends SubsetHelper
 	}
 	
 	@Override
-	protected boolean updateNext(Constraint constraint, boolean buildDerivation)
+	protected boolean updateNext(int constraint, boolean buildDerivation)
 	{
 		boolean foundSubset = false;
 		derivation = null;
-		Stack<Position> positions = new Stack<>();
-		for(Position p : constraint.getPositions())
-		{
-			if(sudoku.getCell(p).isNotSolved())
-			{
-				positions.add(p);
-			}
-		}
 		
 		do
 		{
-			int subsetCount = filterForSubsets(positions); //subsetPositions = {p | p ∈ positions, p.candidates ⊆ currentSet && |p.candidates| ∈ [1,level]}
+			int subset = currentSet;
+			int subsetCount = filterForSubsets(subset); //subsetCells = {c | c ∈ unit, c.candidates ⊆ currentSet && |c.candidates| ∈ [1,level]}
 			if(subsetCount == this.level)
 			{
-				/* store all fields other than the n fields of the subset in externalPositions */
-				List<Position> externalPositions = new Stack<>();
-				externalPositions.addAll(positions);
-				externalPositions.removeAll(subsetPositions);
-				
-				for(Position pos : externalPositions)
+				/* look at all unsolved fields other than the n fields of the subset */
+				for(int i = 0; i < unitSize; i++)
 				{
-					BitSet currentPosCandidates = this.sudoku.getCurrentCandidates(pos);
+					int cell = unitCells[i];
+					if(isSubsetCell(cell) || sudoku.getCellById(cell).isSolved())
+					{
+						continue;
+					}
+					int currentPosCandidates = unitCandidates[i];
 					// if currentPosCandidates contains candidates from the current subset i.e. something can be deleted
-					if(currentPosCandidates.intersects(currentSet))
+					if((currentPosCandidates & subset) != 0)
 					{
-						//save original candidates
-						localCopy.assignWith(currentPosCandidates);
-						
 						//delete all candidates that appear in currentSet
-						currentPosCandidates.andNot(currentSet);
+						this.sudoku.removeCandidates(cell, subset);
 						
 						// We found a subset that does delete candidates, initialize derivation obj. and fill it during remaining cycles of pos
 						if(buildDerivation)
@@ -129,11 +115,9 @@ public class NakedHelper extends SubsetHelper
 								lastDerivation = derivation;
 							}
 							//what was deleted?
-							BitSet relevant = (BitSet) localCopy.clone();
-							BitSet irrelevant = (BitSet) localCopy.clone();
-							relevant.and(currentSet);       //deleted notes
-							irrelevant.andNot(currentSet);  //remaining notes
-							DerivationCell field = new DerivationCell(pos, relevant, irrelevant);
+							BitSet relevant = CandidateSet.fromBitMask(currentPosCandidates & subset);    //deleted notes
+							BitSet irrelevant = CandidateSet.fromBitMask(currentPosCandidates & ~subset); //remaining notes
+							DerivationCell field = new DerivationCell(sudoku.getPosition(cell), relevant, irrelevant);
 							derivation.addExternalCell(field);
 						}
 						foundSubset = true;
@@ -141,45 +125,57 @@ public class NakedHelper extends SubsetHelper
 				}
 			}
 		}
-		while(!foundSubset && constraintSet.cardinality() > this.level && getNextSubset());
+		while(!foundSubset && getNextSubset());
 		
 		return foundSubset;
 	}
 	
 	/**
-	 * stores all positions whose candidates are a subset of currentSet and have <= 'level' candidates -> eligible
+	 * stores all fields whose candidates are a subset of currentSet and have <= 'level' candidates -> eligible
 	 * and returns their number.
 	 *
-	 * @return number of positions found
+	 * @return number of fields found
 	 */
-	private int filterForSubsets(List<Position> positions)
+	private int filterForSubsets(int subset)
 	{
-		subsetPositions.clear();
-		for(Position pos : positions)
+		subsetSize = 0;
+		for(int i = 0; i < unitSize; i++)
 		{
-			CandidateSet currentCandidates = this.sudoku.getCurrentCandidates(pos);
-			int nrCandidates = currentCandidates.cardinality();
+			int currentCandidates = unitCandidates[i];
+			int nrCandidates = Integer.bitCount(currentCandidates);
 			if(0 < nrCandidates && nrCandidates <= this.level)
 			{
-				if(currentCandidates.isSubsetOf(currentSet))
+				if((currentCandidates & subset) == subset) //same test as CandidateSet.isSubsetOf(currentSet)
 				{
-					subsetPositions.add(pos);
+					subsetCells[subsetSize++] = unitCells[i];
 				}
 			}
 		}
-		return subsetPositions.size();
+		return subsetSize;
+	}
+	
+	private boolean isSubsetCell(int cell)
+	{
+		for(int i = 0; i < subsetSize; i++)
+		{
+			if(subsetCells[i] == cell)
+			{
+				return true;
+			}
+		}
+		return false;
 	}
 	
-	private NakedSetDerivation initializeDerivation(Constraint constraint)
+	private NakedSetDerivation initializeDerivation(int constraint)
 	{
 		NakedSetDerivation derivation = new NakedSetDerivation(hintType);
 		derivation.setDescription("naked helper (" + hintType + ")");
-		derivation.setConstraint(constraint);
-		derivation.setSubsetCandidates(currentSet);
-		for(Position p : subsetPositions)
+		derivation.setConstraint(sudoku.getConstraint(constraint));
+		derivation.setSubsetCandidates(CandidateSet.fromBitMask(currentSet));
+		for(int i = 0; i < subsetSize; i++)
 		{
-			BitSet relevantCandidates = (BitSet) this.sudoku.getCurrentCandidates(p).clone();
-			DerivationCell field = new DerivationCell(p, relevantCandidates, new BitSet());
+			BitSet relevantCandidates = CandidateSet.fromBitMask(this.sudoku.getCandidateMask(subsetCells[i]));
+			DerivationCell field = new DerivationCell(sudoku.getPosition(subsetCells[i]), relevantCandidates, new BitSet());
 			derivation.addSubsetCell(field);
 		}
 		return derivation;
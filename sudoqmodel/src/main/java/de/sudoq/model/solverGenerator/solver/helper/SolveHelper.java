@@ -31,6 +31,17 @@ public abstract class SolveHelper
 	
 	public HintTypes hintType; //public only for debugging
 	
+	/**
+	 * Die Version des Sudokus zu Beginn des letzten Durchlaufs, der nichts gefunden hat. Constraints, die sich seitdem
+	 * nicht verändert haben, können übersprungen werden.
+	 */
+	private long exhaustedVersion = -1;
+	
+	/**
+	 * Die Version des Sudokus zu Beginn des aktuellen Durchlaufs
+	 */
+	private long scanVersion;
+	
 	/* Constructors */
 	
 	/**
@@ -62,6 +73,44 @@ public abstract class SolveHelper
 	 */
 	abstract public boolean update(boolean buildDerivation);
 	
+	/**
+	 * Merkt sich den Stand des Sudokus zu Beginn eines Durchlaufs von {@link #update(boolean)}. Helfer, die
+	 * {@link #isUnchanged(int)} benutzen, müssen dies zu Beginn und {@link #endScan(boolean)} am Ende aufrufen.
+	 */
+	protected void beginScan()
+	{
+		scanVersion = sudoku.getVersion();
+	}
+	
+	/**
+	 * Gibt zurück, ob sich der spezifizierte Constraint seit dem Beginn des letzten erfolglosen Durchlaufs nicht
+	 * verändert hat. Dann kann dieser Helper dort auch jetzt nichts finden, sofern sein Ergebnis nur von den Kandidaten
+	 * und Lösungen der Felder des Constraints abhängt.
+	 *
+	 * @param constraint die Constraint-ID
+	 * @return true, falls der Constraint übersprungen werden kann
+	 */
+	protected boolean isUnchanged(int constraint)
+	{
+		return sudoku.getConstraintVersion(constraint) <= exhaustedVersion;
+	}
+	
+	/**
+	 * Schließt einen Durchlauf ab. War er erfolglos, können beim nächsten Durchlauf alle Constraints übersprungen
+	 * werden, die sich bis dahin nicht verändern.
+	 *
+	 * @param found das Ergebnis des Durchlaufs
+	 * @return found
+	 */
+	protected boolean endScan(boolean found)
+	{
+		if(!found)
+		{
+			exhaustedVersion = scanVersion;
+		}
+		return found;
+	}
+	
 	/**
 	 * Gibt die Herleitung des letzten update-Schrittes zurück, sofern dieser mit dem Parameter buildDerivation
 	 * aufgerufen wurde und erfolgreich war. Ansonsten wird false zurückgegeben.
@@ -1,14 +1,6 @@
 package de.sudoq.model.solverGenerator.solver.helper;
 
-import java.util.ArrayList;
-import java.util.BitSet;
-import java.util.List;
-import java.util.Stack;
-
 import de.sudoq.model.solverGenerator.solver.SolverSudoku;
-import de.sudoq.model.sudoku.CandidateSet;
-import de.sudoq.model.sudoku.Constraint;
-import de.sudoq.model.sudoku.Position;
 
 public abstract class SubsetHelper extends SolveHelper
 {
@@ -21,32 +13,36 @@ public abstract class SubsetHelper extends SolveHelper
 	protected int level;
 	
 	/**
-	 * Ein BitSet, welches alle Kandidaten des aktuell untersuchten Constraints enthält. Aus Performancegründen nicht
-	 * lokal definiert.
+	 * Bitmaske, welche alle Kandidaten des aktuell untersuchten Constraints enthält, aus denen Subsets gebildet werden.
 	 */
-	protected BitSet constraintSet;//TODO call it candidateset?
+	protected int constraintSet;
 	
 	/**
-	 * Das BitSet, welches das gerade untersuchte Subset darstellt. Aus Performancegründen nicht lokal definiert.
+	 * Bitmaske, welche das gerade untersuchte Subset darstellt.
 	 */
-	protected CandidateSet currentSet;
+	protected int currentSet;
 	
 	/**
-	 * Die Positionen, welche zum aktuell untersuchten Subset gehören. Aus Performancegründen nicht lokal definiert.
+	 * Die Feld-IDs des aktuell untersuchten Constraints und deren Kandidaten zu Beginn der Untersuchung, gültig sind
+	 * die ersten unitSize Einträge. Aus Performancegründen nicht lokal definiert.
 	 */
-	protected List<Position> subsetPositions; //TODO make Stack? might be far more readable
+	protected final int[] unitCells;
+	protected final int[] unitCandidates;
+	protected int unitSize;
 	
 	/**
-	 * Ein BitSet für lokale Kopien zum vergleichen. Aus Performancegründen nicht lokal definiert.
+	 * Die Feld-IDs, welche zum aktuell untersuchten Subset gehören, gültig sind die ersten subsetSize Einträge. Aus
+	 * Performancegründen nicht lokal definiert.
 	 */
-	protected CandidateSet localCopy;
+	protected final int[] subsetCells;
+	protected int subsetSize;
 	
-	/**
-	 * Speichert alle Constraints des zugrundeliegenden Sudokus.
-	 */
-	protected ArrayList<Constraint> allConstraints; //TODO see if it can be replaced by iterator or just the sudokutype, because we dont want to modify the list of constraints!!!
+	/* the candidates of constraintSet in ascending order, i.e. dense index -> candidate */
+	private final int[] symbols = new int[Integer.SIZE];
+	private int numberOfSymbols;
 	
-	//protected static HintTypes labels[];
+	/* current combination as the complement of the bit reversed dense subset, see getNextSubset */
+	private long combination;
 	
 	/* Constructors */
 	
@@ -63,15 +59,16 @@ public abstract class SubsetHelper extends SolveHelper
 	{
 		super(sudoku, complexity);
 		
-		//hintType = labels[level-1];
-		
 		this.level = level;
 		
-		this.allConstraints = this.sudoku.getSudokuType().getConstraints();
-		this.constraintSet = new BitSet();
-		this.currentSet = new CandidateSet();
-		this.subsetPositions = new Stack<>();
-		this.localCopy = new CandidateSet();
+		int maxUnitSize = 0;
+		for(int c = 0; c < this.sudoku.getNumberOfConstraints(); c++)
+		{
+			maxUnitSize = Math.max(maxUnitSize, this.sudoku.getCellsOfConstraint(c).length);
+		}
+		this.unitCells = new int[maxUnitSize];
+		this.unitCandidates = new int[maxUnitSize];
+		this.subsetCells = new int[maxUnitSize];
 	}
 	
 	/* Methods */
@@ -93,35 +90,23 @@ public abstract class SubsetHelper extends SolveHelper
 	{
 		lastDerivation = null;
 		boolean found = false;
+		beginScan();
 		
-		//ArrayList<Position> positions;
-		//iterate over all 'unique'-Constraints
-		for(Constraint constraint : allConstraints)
+		//iterate over all 'unique'-Constraints that changed since the last unsuccessful scan
+		for(int c = 0; c < sudoku.getNumberOfConstraints(); c++)
 		{
-			if(constraint.hasUniqueBehavior())
+			if(sudoku.isUniqueConstraint(c) && !isUnchanged(c))
 			{
-				constraintSet = collectPossibleCandidates(constraint);
+				loadUnit(c);
+				constraintSet = collectPossibleCandidates();
 				
 				//if we find 'level' or more candidates
-				if(constraintSet.cardinality() >= this.level)
+				if(Integer.bitCount(constraintSet) >= this.level)
 				{
-					//initializeWith currentSet with the first 'level' candidates in constraintSet
-					//TODO is there a better, clearer way?
-					currentSet.clear();
-					int currentCandidate = -1;
-					for(int i = 0; i < this.level; i++)
-					{
-						currentCandidate = constraintSet.nextSetBit(currentCandidate + 1);
-						currentSet.set(currentCandidate);
-					}
-
-					/* this should be better
-					currentSet = (BitSet) constraintSet.clone();
-					while (currentSet.cardinality() > this.level)
-						currentSet.clear(currentSet.length()-1);
-					*/
+					//initialize currentSet with the first 'level' candidates in constraintSet
+					initializeSubsets();
 					
-					found = updateNext(constraint, buildDerivation);
+					found = updateNext(c, buildDerivation);
 					
 					// Stop searching if a subset was found
 					if(found)
@@ -131,191 +116,94 @@ public abstract class SubsetHelper extends SolveHelper
 				}
 			}
 		}
-		return found;
+		return endScan(found);
 	}
 	
-	protected abstract BitSet collectPossibleCandidates(Constraint constraint);
-	
-	//todo make this an iterator?
-	
-	/**
-	 * Berechnet das nächste Subset des spezifizierten BitSets mit der im Konstruktor definierten Größe "level",
-	 * ausgehend von demjenigen Subset, welches die niederwertigsten Kandidaten gesetzt hat. Das übergebene Subset muss
-	 * bereits entsprechend viele Kandidaten gesetzt haben. Es wird immer der hochwertigste Kandidat erhöht bis dieser
-	 * beim letzten Kandidaten angelangt ist, daraufhin wird der nächste Kandidat erhöht bis schließlich das
-	 * hochwertigste Subset berechnet wurde.
-	 *
-	 * new interpretation: if highest bit in current set can be moved to the right, do so
-	 *                     otherwise look from right to left for the first bit after(left of) a gap./fook for rightmost bit that can be moved to the right. move it to the right and set remaining bits next to it
-	 * Gospers hack is a beautiful implementation, but worthless here as it operates on (binary) numbers, which we cannot convert to/from BitSets
-	 *
-	 * @return true, falls es noch ein Subset gibt, false falls nicht
-	 */
-	protected boolean getNextSubset()
+	/* copies cells and candidates of the constraint into unitCells/unitCandidates */
+	private void loadUnit(int constraint)
 	{
-		boolean nextSetExists = false;
-		final BitSet allCandidates = constraintSet; //rename for clarity, holds all candiates(set to 1) in the current constraint
-		
-		int lastBitSet = currentSet.length() - 1;
-		// Get the last set candidate
-		
-		// Calculate next candidate set if existing
-		int nextCandidate = lastBitSet;
-		int currentCandidate = allCandidates.nextSetBit(lastBitSet + 1);//test if there is another candidate -> we can shift
-		if(currentCandidate != -1) //if we found one
-		{
-			currentCandidate++;  //increment for coming 'if' namely 'if (allCandidates.nextSetBit(nextCandidate + 1) != currentCandidate) {' left side is either -1 => no next set or currentCandidate, but we want ineq in that case , so increment it. Why not writing '-1' in the left side? because loop: the limit won't always be the last bit, it is shifted to the left.
-		}
-		
-		while(!nextSetExists && nextCandidate != -1)
+		int[] cells = sudoku.getCellsOfConstraint(constraint);
+		unitSize = cells.length;
+		for(int i = 0; i < unitSize; i++)
 		{
-			//initially true iff currentSet not empty
-			// If the next candidate can be increased without interfering with
-			// the next one, do it
-			if(allCandidates.nextSetBit(nextCandidate + 1) != currentCandidate)
-			{
-				nextSetExists = true;
-				currentSet.clear(nextCandidate);
-				currentCandidate = nextCandidate;
-				while(currentSet.cardinality() < this.level)
-				{
-					//fill remaining
-					currentCandidate = allCandidates.nextSetBit(currentCandidate + 1);
-					currentSet.set(currentCandidate);
-				}
-			}
-			
-			// If no set was found, get the next highest candidate to manipulate it
-			// save nextCandidate in currentCandidate and have the new nextCandidate point to the next set bit below where it's currently pointing at; then delete old one
-			if(!nextSetExists)
-			{
-				currentCandidate = nextCandidate;
-				nextCandidate = -1;
-				while(currentSet.nextSetBit(nextCandidate + 1) < currentCandidate) // == nextCandidate = currentSet.previousSetBit(nextCandidate)
-				{
-					nextCandidate = currentSet.nextSetBit(nextCandidate + 1); // but we don't have the api for it
-				}
-				currentSet.clear(currentCandidate);
-			}
+			unitCells[i] = cells[i];
+			unitCandidates[i] = sudoku.getCandidateMask(cells[i]);
 		}
-		
-		return nextSetExists;
 	}
 	
-	/* these are all untested :-( but they are better to understand than current getNextSubset TODO substitute current one for these  */
+	/**
+	 * Sammelt die Kandidaten des aktuellen Constraints (unitCandidates), aus denen Subsets gebildet werden sollen.
+	 *
+	 * @return die Kandidaten als Bitmaske
+	 */
+	protected abstract int collectPossibleCandidates();
 	
-	protected boolean getNextSubset2()
+	/* sets currentSet to the 'level' lowest candidates of constraintSet */
+	private void initializeSubsets()
 	{
-		BitSet current = contract(currentSet, constraintSet);
-		
-		/* are all true bits at the end? == are all k bits at the end true?*/
-		boolean lastElement = true;
-		for(int i = 0; i < constraintSet.cardinality(); i++)
+		numberOfSymbols = 0;
+		for(int rest = constraintSet; rest != 0; rest &= rest - 1)
 		{
-			lastElement &= current.get(constraintSet.cardinality() - i);
-		}
-		
-		if(lastElement)
-		{
-			return false; // we're done
-		}
-		else
-		{
-			//advance to next combination, project back to our candidates
-			BitSet nextOne = step(current, constraintSet.cardinality(), currentSet.cardinality());
-			currentSet = inflate(nextOne, constraintSet);
-			return true;
+			symbols[numberOfSymbols++] = Integer.numberOfTrailingZeros(rest);
 		}
+		combination = (1L << (numberOfSymbols - this.level)) - 1;
+		currentSet = expand();
 	}
 	
 	/**
-	 * Provided a combination and values n,k calculate the next step in a loop of 'n choose k' combinations.
+	 * Berechnet das nächste Subset von constraintSet mit der im Konstruktor definierten Größe "level",
+	 * ausgehend von demjenigen Subset, welches die niederwertigsten Kandidaten gesetzt hat. Es wird immer der
+	 * hochwertigste Kandidat erhöht bis dieser beim letzten Kandidaten angelangt ist, daraufhin wird der nächste
+	 * Kandidat erhöht bis schließlich das hochwertigste Subset berechnet wurde.
+	 *
+	 * Die Kandidaten von constraintSet werden dafür auf die Bits 0..n-1 verdichtet. Gospers Hack liefert die
+	 * n-level-elementigen Teilmengen in colexikographischer Reihenfolge; das Komplement der bitweise gespiegelten
+	 * Teilmenge durchläuft damit genau die level-elementigen Subsets in der oben beschriebenen (lexikographischen)
+	 * Reihenfolge.
 	 *
-	 * @param bitSet an initial or intermediate combination
-	 * @param n supposed length of bitSet i.e. nr of bits to choose from
-	 * @param k size of the subsets
-	 * @return the next combination
+	 * @return true, falls es noch ein Subset gibt, false falls nicht
 	 */
-	private static BitSet step(BitSet bitSet, int n, int k)
+	protected boolean getNextSubset()
 	{
-		//idea: looking from right if there is a '1' that can be moved to the right, do so
-		//      all other '1' right from it(that didn't have a '0' to their right) are lined up directly to the right of it
-		//e.g. |11  11| -> |1 111 |
-		int i;
-		for(i = n - 1; i > 0; i--)
+		if(combination == 0)
 		{
-			
-			if(bitSet.get(i))
-			{
-				bitSet.clear(i);
-			}
-			else if(bitSet.get(i - 1))
-			{
-				bitSet.clear(i - 1);
-				break;
-			}
+			return false; //n == level, there is only one subset
 		}
-		for(; bitSet.cardinality() < k; i++)
-		{
-			bitSet.set(i);
-		}
-		return bitSet;
-	}
-	
-	public static BitSet contract(BitSet sparseSet, BitSet pattern)
-	{
-		BitSet denseSet = new BitSet();
-		
-		//loop over true bits of pattern as described in JavaDoc of 'nextSetBit'
-		int denseIndex;
-		int sparseIndex;
-		for(
-				sparseIndex = pattern.nextSetBit(0), denseIndex = 0;
-				sparseIndex >= 0;
-				sparseIndex = pattern.nextSetBit(sparseIndex + 1), denseIndex++
-		)
+		long lowest = combination & -combination;
+		long ripple = combination + lowest;
+		combination = (((ripple ^ combination) >>> 2) / lowest) | ripple;
+		if(combination >>> numberOfSymbols != 0)
 		{
-			denseSet.set(denseIndex, sparseSet.get(sparseIndex));
-			if(sparseIndex == Integer.MAX_VALUE)
-			{
-				break; // or (i+1) would overflow
-			}
+			return false;
 		}
-		return denseSet;
+		currentSet = expand();
+		return true;
 	}
 	
-	public static CandidateSet inflate(BitSet denseSet, BitSet pattern)
+	/* maps the current combination back onto the candidates of constraintSet */
+	private int expand()
 	{
-		CandidateSet sparseSet = new CandidateSet();
-		
-		int denseIndex;
-		int sparseIndex;
-		for(
-				sparseIndex = pattern.nextSetBit(0), denseIndex = 0;
-				sparseIndex >= 0;
-				sparseIndex = pattern.nextSetBit(sparseIndex + 1), denseIndex++
-		)
+		long all = (1L << numberOfSymbols) - 1;
+		long dense = Long.reverse(~combination & all) >>> (Long.SIZE - numberOfSymbols);
+		int subset = 0;
+		for(; dense != 0; dense &= dense - 1)
 		{
-			sparseSet.set(sparseIndex, denseSet.get(denseIndex));
-			if(sparseIndex == Integer.MAX_VALUE)
-			{
-				break; // or (i+1) would overflow
-			}
+			subset |= 1 << symbols[Long.numberOfTrailingZeros(dense)];
 		}
-		return sparseSet;
+		return subset;
 	}
 	
 	/**
 	 * Searches for the next subset of the size {@code level} (defined in constructor) in the passed
-	 * {@link de.sudoq.model.sudoku.Constraint} with the specified candidate-Set
-	 * {@code de.sudoq.model.solverGenerator.solver.helper.SubsetHelper#candidateSet}, as well as
+	 * constraint with the specified candidate-Set
+	 * {@code de.sudoq.model.solverGenerator.solver.helper.SubsetHelper#constraintSet}, as well as
 	 * the current Subset. All candidate lists are checked that have been found via
 	 * {@link de.sudoq.model.solverGenerator.solver.helper.SubsetHelper#getNextSubset()} from the
 	 * specified Subset on.
 	 *
-	 * @param constraint Der Constraint, in dem ein NakedSubset gesucht werden soll
+	 * @param constraint Die ID des Constraints, in dem ein Subset gesucht werden soll
 	 * @param buildDerivation Gibt an, ob eine Herleitung für ein gefundenes Subset erstellt werden soll, welche über die getDerivation Methode abgerufen werden kann
 	 * @return true, falls ein Subset gefunden wurde, false falls nicht
 	 */
-	abstract protected boolean updateNext(Constraint constraint, boolean buildDerivation);
+	abstract protected boolean updateNext(int constraint, boolean buildDerivation);
 }
@@ -44,28 +44,34 @@ public class Transformer
 		subtleList.add(new InBlockRowPermutation());
 	}
 	
-	static
+	/* jeder Thread hat sein eigenes Random-Objekt, damit parallele Transformationen sich nicht gegenseitig beeinflussen */
+	private static final ThreadLocal<Random> random = new ThreadLocal<Random>()
 	{
-		setRandom(new Random());
-	}
-	
-	private static Random random;
+		@Override
+		protected Random initialValue()
+		{
+			return new Random();
+		}
+	};
 	
 	/**
 	 * Für Tests kann ein eigenes deterministisches 'random'-Object verwendet werden. Das Randomobjekt von Transformer
 	 * ist standardmäßig nichtdeterministisch und wird nach jedem Aufruf von transform() wieder auf nichtdeterministisch
-	 * gesetzt.
+	 * gesetzt. Das Randomobjekt gilt nur für den aufrufenden Thread.
 	 *
 	 * @param r ein neues randomObject
 	 */
 	public static void setRandom(Random r)
 	{
-		random = r;
+		random.set(r);
 	}
 	
+	/**
+	 * @return das Randomobjekt des aufrufenden Threads
+	 */
 	public static Random getRandom()
 	{
-		return random;
+		return random.get();
 	}
 	
 	/**
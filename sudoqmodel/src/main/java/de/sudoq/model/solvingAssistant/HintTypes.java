@@ -38,6 +38,8 @@ public enum HintTypes
 	
 	LockedCandidatesExternal,
 	XWing,
+	Swordfish,
+	Jellyfish,
 	
 	NoNotes, //this is for when the user doesn't fill out the notes - DON'T USE IN GENERATOR!
 	Backtracking
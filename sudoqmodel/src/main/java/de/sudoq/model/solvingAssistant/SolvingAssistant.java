@@ -6,6 +6,7 @@ import java.util.Queue;
 import de.sudoq.model.solverGenerator.solution.BacktrackingDerivation;
 import de.sudoq.model.solverGenerator.solution.SolveDerivation;
 import de.sudoq.model.solverGenerator.solver.SolverSudoku;
+import de.sudoq.model.solverGenerator.solver.helper.FishHelper;
 import de.sudoq.model.solverGenerator.solver.helper.HiddenHelper;
 import de.sudoq.model.solverGenerator.solver.helper.LastCandidateHelper;
 import de.sudoq.model.solverGenerator.solver.helper.LastDigitHelper;
@@ -14,7 +15,6 @@ import de.sudoq.model.solverGenerator.solver.helper.LockedCandandidatesHelper;
 import de.sudoq.model.solverGenerator.solver.helper.NakedHelper;
 import de.sudoq.model.solverGenerator.solver.helper.NoNotesHelper;
 import de.sudoq.model.solverGenerator.solver.helper.SolveHelper;
-import de.sudoq.model.solverGenerator.solver.helper.XWingHelper;
 import de.sudoq.model.sudoku.Sudoku;
 
 public class SolvingAssistant
@@ -39,7 +39,9 @@ public class SolvingAssistant
 		
 		helpers.add(new LockedCandandidatesHelper(s, 0));
 		
-		helpers.add(new XWingHelper(s, 0));
+		helpers.add(new FishHelper(s, 2, 0));
+		helpers.add(new FishHelper(s, 3, 0));
+		helpers.add(new FishHelper(s, 4, 0));
 		
 		helpers.add(new NoNotesHelper(s, 0));
 		
@@ -23,6 +23,48 @@ public class CandidateSet extends BitSet
 		return cs;
 	}
 	
+	/**
+	 * Creates a CandidateSet from an int bit mask as used by the solver, i.e. bit i is set iff candidate i is set.
+	 *
+	 * @param mask the candidates as bit mask
+	 * @return a new CandidateSet holding the same candidates
+	 */
+	public static CandidateSet fromBitMask(int mask)
+	{
+		CandidateSet cs = new CandidateSet();
+		cs.assignWithBitMask(mask);
+		return cs;
+	}
+	
+	/**
+	 * assigns the candidates of an int bit mask to itself
+	 *
+	 * @param mask bit mask to assign itself with, bit i stands for candidate i
+	 */
+	public void assignWithBitMask(int mask)
+	{
+		clear();
+		for(int m = mask; m != 0; m &= m - 1)
+		{
+			set(Integer.numberOfTrailingZeros(m));
+		}
+	}
+	
+	/**
+	 * Returns the candidates as int bit mask. Only candidates below 32 can be represented.
+	 *
+	 * @return a bit mask with bit i set iff candidate i is set
+	 */
+	public int toBitMask()
+	{
+		int mask = 0;
+		for(int i = nextSetBit(0); i >= 0 && i < 32; i = nextSetBit(i + 1))
+		{
+			mask |= 1 << i;
+		}
+		return mask;
+	}
+	
 	/**
 	 * assigns the value of the parameter to itself
 	 *
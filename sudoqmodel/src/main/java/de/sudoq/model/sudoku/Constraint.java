@@ -8,6 +8,7 @@
 package de.sudoq.model.sudoku;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -25,7 +26,8 @@ public class Constraint implements Iterable<Position>, Xmlable
 	/* Attributes */
 	
 	/**
-	 * Eine Liste der Positionen aller Felder, die zusammen eine Vorgabe erfüllen müssen
+	 * Eine Liste der Positionen aller Felder, die zusammen eine Vorgabe erfüllen müssen. Nach {@link #lock()} nicht
+	 * mehr veränderbar
 	 */
 	private List<Position> positions;
 	
@@ -44,6 +46,11 @@ public class Constraint implements Iterable<Position>, Xmlable
 	 */
 	private ConstraintType type;
 	
+	/**
+	 * true, falls der Typ dieses Constraints geteilt wird und es deshalb nicht mehr verändert werden darf
+	 */
+	private boolean locked;
+	
 	/* Constructors */
 	
 	/**
@@ -109,15 +116,33 @@ public class Constraint implements Iterable<Position>, Xmlable
 	 * getan.
 	 * @deprecated mostly used in tests TODO make those tests sublasses and set method to private
 	 * @param position Die Position die diesem Constraint hinzugefügt werden soll
+	 * @throws IllegalStateException falls das Constraint mit {@link #lock()} gesperrt wurde
 	 */
 	public void addPosition(Position position)
 	{
+		if(locked)
+		{
+			throw new IllegalStateException("locked constraint " + name + " must not be modified");
+		}
 		if(position != null && !positions.contains(position))
 		{
 			positions.add(position);
 		}
 	}
 	
+	/**
+	 * Sperrt dieses Constraint gegen jede Änderung seiner Positionen, auch über {@link #iterator()} und
+	 * {@link #getPositions()}. Wird aufgerufen, wenn der Typ, zu dem es gehört, geteilt wird.
+	 */
+	public void lock()
+	{
+		if(!locked)
+		{
+			positions = Collections.unmodifiableList(positions);
+			locked = true;
+		}
+	}
+	
 	/**
 	 * Diese Methode ermittelt, ob das spezifizierte Sudoku dieses Constraint erfüllt, also auf den hinzugefügten
 	 * Feldern, das spezifizierte ConstraintBehavior erfüllt. Ist dies nicht der Fall, ist das spezifizierte Sudoku null
@@ -132,11 +157,34 @@ public class Constraint implements Iterable<Position>, Xmlable
 		return sudoku != null && behavior.check(this, sudoku);
 	}
 	
+	/**
+	 * Ermittelt wie {@link #isSaturated(Sudoku)}, ob das spezifizierte Sudoku dieses Constraint erfüllt, nachdem nur
+	 * das Feld an der Position changed geändert wurde. Das Constraint muss vor der Änderung erfüllt gewesen sein.
+	 * Bei Unique-Constraints wird dann nur der Wert des geänderten Feldes mit den übrigen Feldern verglichen.
+	 *
+	 * @param sudoku Das Sudoku bei dem überprüft werden soll, ob dieses Constraint erfüllt ist
+	 * @param changed Die Position des geänderten Feldes
+	 * @return true falls das Sudoku die Vorgaben erfüllt, false falls es dies nicht tut oder null ist
+	 */
+	public boolean isSaturated(Sudoku sudoku, Position changed)
+	{
+		if(sudoku == null)
+		{
+			return false;
+		}
+		if(changed != null && behavior instanceof UniqueConstraintBehavior)
+		{
+			return ((UniqueConstraintBehavior) behavior).check(this, sudoku, changed);
+		}
+		return behavior.check(this, sudoku);
+	}
+	
 	/**
 	 * Diese Methode gibt einen Iterator zurück, mithilfe dessen über die Positionen der Felder, die diesem Constraint
 	 * zugewiesen sind iteriert werden kann.
 	 *
-	 * @return Einen Iterator mit dem über die diesem Constraint zugewiesen Positionen iteriert werden kann
+	 * @return Einen Iterator mit dem über die diesem Constraint zugewiesen Positionen iteriert werden kann, ohne
+	 *         remove() falls das Constraint gesperrt ist
 	 */
 	@Override
 	public Iterator<Position> iterator()
@@ -190,11 +238,12 @@ public class Constraint implements Iterable<Position>, Xmlable
 	 * Gibt eine Liste der Positionen, welche zu diesem Constraint gehören zurück. Hinweis: Wenn möglich stattdessen den
 	 * Iterator benutzen.
 	 *
-	 * @return Eine Liste der Positionen, welche zu diesem Constraint gehören.
+	 * @return Eine Liste der Positionen, welche zu diesem Constraint gehören. Nicht veränderbar, falls das Constraint
+	 *         gesperrt ist
 	 */
-	public ArrayList<Position> getPositions()
+	public List<Position> getPositions()
 	{
-		return (ArrayList<Position>) this.positions;
+		return this.positions;
 	}
 	
 	/**
@@ -35,9 +35,10 @@ public class Position implements Xmlable
 	private int y;
 	
 	/**
-	 * Das statische Position-Array
+	 * Das statische Position-Array. Wird beim Laden der Klasse gefüllt, damit get ohne Synchronisation aus mehreren
+	 * Threads aufgerufen werden kann.
 	 */
-	private static Position[][] positions;
+	private static final Position[][] positions = initializePositions();
 	
 	/* Constructors */
 	
@@ -78,10 +79,6 @@ public class Position implements Xmlable
 			throw new IllegalArgumentException("a parameter is less than zero");
 		}
 		
-		if(positions == null)
-		{
-			initializePositions();
-		}
 		if(x < 25 && y < 25)
 		{
 			return positions[x][y];
@@ -97,9 +94,9 @@ public class Position implements Xmlable
 	/**
 	 * Initialisiert das Positions-Array für effiziere Positionsverwaltung.
 	 */
-	private static void initializePositions()
+	private static Position[][] initializePositions()
 	{
-		positions = new Position[25][25];
+		Position[][] positions = new Position[25][25];
 		for(int x = 0; x < 25; x++)
 		{
 			for(int y = 0; y < 25; y++)
@@ -107,6 +104,7 @@ public class Position implements Xmlable
 				positions[x][y] = new Position(x, y);
 			}
 		}
+		return positions;
 	}
 	
 	/* Methods */
@@ -7,7 +7,6 @@
  */
 package de.sudoq.model.sudoku;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,11 +15,6 @@ import java.util.List;
  */
 public class UniqueConstraintBehavior implements ConstraintBehavior
 {
-	/**
-	 * Eine Liste der in der check-Methode gefundenen Ziffern. Wurde aus Performancegründen nicht lokal definiert.
-	 */
-	List<Integer> foundNumbers;
-	
 	/* Constructors */
 	
 	/**
@@ -28,7 +22,6 @@ public class UniqueConstraintBehavior implements ConstraintBehavior
 	 */
 	public UniqueConstraintBehavior()
 	{
-		this.foundNumbers = new ArrayList<>();
 	}
 	
 	/* Methods */
@@ -43,26 +36,72 @@ public class UniqueConstraintBehavior implements ConstraintBehavior
 	 */
 	public boolean check(Constraint constraint, Sudoku sudoku)
 	{
-		int currentValue;
-		foundNumbers.clear();
-		
-		ArrayList<Position> positions = constraint.getPositions();
-		for(Position pos : positions)
+		long found = 0; //bit v is set if v was seen, values beyond 63 are compared pairwise
+		List<Position> positions = constraint.getPositions();
+		for(int i = 0; i < positions.size(); i++)
 		{
-			currentValue = sudoku.getCell(pos).getCurrentValue();
-			if(currentValue != -1)
+			int currentValue = sudoku.getCell(positions.get(i)).getCurrentValue();
+			if(currentValue < 0)
 			{
-				if(foundNumbers.contains(currentValue))
+				continue;
+			}
+			if(currentValue < Long.SIZE)
+			{
+				long bit = 1L << currentValue;
+				if((found & bit) != 0)
 				{
 					return false;
 				}
-				else
-				{
-					foundNumbers.add(currentValue);
-				}
+				found |= bit;
+			}
+			else if(occursBefore(currentValue, positions, i, sudoku))
+			{
+				return false;
 			}
 		}
 		
 		return true;
 	}
+	
+	/**
+	 * Überprüft das spezifizierte Constraint nach einer Änderung des Feldes an der Position changed. Dazu wird nur
+	 * geprüft, ob der Wert dieses Feldes in keinem anderen Feld des Constraints vorkommt. Das Ergebnis stimmt also nur
+	 * dann mit {@link #check(Constraint, Sudoku)} überein, wenn das Constraint vor der Änderung erfüllt war.
+	 *
+	 * @param constraint das zu überprüfende Constraint
+	 * @param sudoku das Sudoku, auf dem das Constraint überprüft wird
+	 * @param changed die Position des geänderten Feldes, muss im Constraint liegen
+	 * @return true, falls der Wert des geänderten Feldes im Constraint nicht doppelt vorkommt
+	 */
+	public boolean check(Constraint constraint, Sudoku sudoku, Position changed)
+	{
+		int value = sudoku.getCell(changed).getCurrentValue();
+		if(value < 0)
+		{
+			return true; //removing a value cannot break uniqueness
+		}
+		List<Position> positions = constraint.getPositions();
+		for(int i = 0; i < positions.size(); i++)
+		{
+			Position pos = positions.get(i);
+			if(!pos.equals(changed) && sudoku.getCell(pos).getCurrentValue() == value)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/* true if value is the current value of one of the first n positions */
+	private static boolean occursBefore(int value, List<Position> positions, int n, Sudoku sudoku)
+	{
+		for(int j = 0; j < n; j++)
+		{
+			if(sudoku.getCell(positions.get(j)).getCurrentValue() == value)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
 }
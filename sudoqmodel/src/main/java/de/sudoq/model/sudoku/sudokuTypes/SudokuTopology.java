@@ -0,0 +1,460 @@
+/*
+ * SudoQ is a Sudoku-App for Adroid Devices with Version 2.2 at least.
+ * Copyright (C) 2012  Heiko Klare, Julian Geppert, Jan-Bernhard Kordaß, Jonathan Kieling, Tim Zeitz, Timo Abele
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation; either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.sudoq.model.sudoku.sudokuTypes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import de.sudoq.model.sudoku.Constraint;
+import de.sudoq.model.sudoku.Position;
+import de.sudoq.model.sudoku.Utils;
+
+/**
+ * Die unveränderliche Geometrie eines {@link SudokuType}s als Index über int-Arrays, damit Solver und Spiel sie nicht
+ * bei jedem Schritt neu aus den Positionslisten der Constraints ableiten müssen.
+ *
+ * Jedes Feld hat eine dichte Feld-ID, die Felder sind spaltenweise (erst x, dann y) durchnummeriert. Die
+ * Constraint-IDs entsprechen der Reihenfolge der Constraints im Typ. Zu jedem Feld sind seine Constraints und seine
+ * Nachbarn (alle anderen Felder, die mit ihm in einem Unique-Constraint liegen) abgelegt, zu jedem Constraint seine
+ * Felder und zu jedem Paar von Constraints ihre Schnittmenge.
+ *
+ * Instanzen werden über {@link SudokuType#getTopology()} bezogen, alle zurückgegebenen Arrays dürfen nicht verändert
+ * werden.
+ */
+public final class SudokuTopology
+{
+	private static final int[] NONE = new int[0];
+	
+	private final int width;
+	private final int height;
+	private final int[] cellIds;         // x * height + y -> Feld-ID, -1 falls dort kein Feld ist
+	private final Position[] positions;  // Feld-ID -> Position
+	private final List<Position> positionList;
+	
+	private final Constraint[] constraints;
+	private final boolean[] unique;
+	private final Utils.ConstraintShape[] shapes;
+	private final Map<Utils.ConstraintShape, int[]> constraintsOfShape;
+	private final int[][] constraintCells; // in der Reihenfolge der Positionen des Constraints
+	private final int[][] cellConstraints;
+	private final int[][] indicesInConstraints; // parallel zu cellConstraints
+	private final boolean[] inNonUniqueConstraint;
+	private final int[][] peers;           // aufsteigend sortiert
+	
+	private final int[][] intersections;   // i * #constraints + j -> gemeinsame Felder, in der Reihenfolge von min(i, j)
+	private final int[][] intersecting;    // Constraint-ID -> IDs der Constraints mit gemeinsamen Feldern
+	private final int[] intersectionMasks; // i * #constraints + j -> Indizes der gemeinsamen Felder in i als Bitmaske
+	
+	SudokuTopology(SudokuType type)
+	{
+		Position size = type.getSize();
+		width = size.getX();
+		height = size.getY();
+		
+		/* cells */
+		List<Constraint> constraintList = new ArrayList<>();
+		boolean[] isCell = new boolean[width * height];
+		for(Constraint c : type)
+		{
+			constraintList.add(c);
+			for(Position p : c)
+			{
+				isCell[p.getX() * height + p.getY()] = true;
+			}
+		}
+		cellIds = new int[width * height];
+		int numberOfCells = 0;
+		for(int i = 0; i < cellIds.length; i++)
+		{
+			cellIds[i] = isCell[i] ? numberOfCells++ : -1;
+		}
+		positions = new Position[numberOfCells];
+		for(int i = 0; i < cellIds.length; i++)
+		{
+			if(cellIds[i] >= 0)
+			{
+				positions[cellIds[i]] = Position.get(i / height, i % height);
+			}
+		}
+		positionList = Collections.unmodifiableList(Arrays.asList(positions));
+		
+		/* constraints <-> cells */
+		constraints = constraintList.toArray(new Constraint[constraintList.size()]);
+		int numberOfConstraints = constraints.length;
+		unique = new boolean[numberOfConstraints];
+		shapes = new Utils.ConstraintShape[numberOfConstraints];
+		constraintCells = new int[numberOfConstraints][];
+		int[] constraintsPerCell = new int[numberOfCells];
+		for(int k = 0; k < numberOfConstraints; k++)
+		{
+			unique[k] = constraints[k].hasUniqueBehavior();
+			List<Position> constraintPositions = constraints[k].getPositions();
+			shapes[k] = constraintPositions.size() < 2 ? Utils.ConstraintShape.Other : Utils.getGroupShape(constraintPositions);
+			constraintCells[k] = new int[constraintPositions.size()];
+			for(int i = 0; i < constraintCells[k].length; i++)
+			{
+				int cell = getCellIndex(constraintPositions.get(i));
+				constraintCells[k][i] = cell;
+				constraintsPerCell[cell]++;
+			}
+		}
+		constraintsOfShape = new EnumMap<>(Utils.ConstraintShape.class);
+		for(Utils.ConstraintShape shape : Utils.ConstraintShape.values())
+		{
+			int[] ofShape = new int[numberOfConstraints];
+			int n = 0;
+			for(int k = 0; k < numberOfConstraints; k++)
+			{
+				if(shapes[k] == shape)
+				{
+					ofShape[n++] = k;
+				}
+			}
+			constraintsOfShape.put(shape, Arrays.copyOf(ofShape, n));
+		}
+		cellConstraints = new int[numberOfCells][];
+		indicesInConstraints = new int[numberOfCells][];
+		inNonUniqueConstraint = new boolean[numberOfCells];
+		for(int cell = 0; cell < numberOfCells; cell++)
+		{
+			cellConstraints[cell] = new int[constraintsPerCell[cell]];
+			indicesInConstraints[cell] = new int[constraintsPerCell[cell]];
+			constraintsPerCell[cell] = 0;
+		}
+		for(int k = 0; k < numberOfConstraints; k++)
+		{
+			for(int i = 0; i < constraintCells[k].length; i++)
+			{
+				int cell = constraintCells[k][i];
+				indicesInConstraints[cell][constraintsPerCell[cell]] = i;
+				cellConstraints[cell][constraintsPerCell[cell]++] = k;
+				inNonUniqueConstraint[cell] |= !unique[k];
+			}
+		}
+		
+		/* peers */
+		peers = new int[numberOfCells][];
+		boolean[] isPeer = new boolean[numberOfCells];
+		for(int cell = 0; cell < numberOfCells; cell++)
+		{
+			Arrays.fill(isPeer, false);
+			int count = 0;
+			for(int k : cellConstraints[cell])
+			{
+				if(unique[k])
+				{
+					for(int other : constraintCells[k])
+					{
+						if(other != cell && !isPeer[other])
+						{
+							isPeer[other] = true;
+							count++;
+						}
+					}
+				}
+			}
+			peers[cell] = new int[count];
+			count = 0;
+			for(int other = 0; other < numberOfCells; other++)
+			{
+				if(isPeer[other])
+				{
+					peers[cell][count++] = other;
+				}
+			}
+		}
+		
+		/* intersections */
+		intersections = new int[numberOfConstraints * numberOfConstraints][];
+		intersecting = new int[numberOfConstraints][];
+		boolean[] inI = new boolean[numberOfCells]; // cells of constraint i
+		int[] common = new int[numberOfCells];
+		int[] partners = new int[numberOfConstraints];
+		for(int i = 0; i < numberOfConstraints; i++)
+		{
+			for(int cell : constraintCells[i])
+			{
+				inI[cell] = true;
+			}
+			int numberOfPartners = 0;
+			for(int j = 0; j < numberOfConstraints; j++)
+			{
+				int[] intersection = NONE;
+				if(j < i)
+				{
+					intersection = intersections[j * numberOfConstraints + i];
+				}
+				else if(j > i)
+				{
+					int n = 0;
+					for(int cell : constraintCells[j])
+					{
+						if(inI[cell])
+						{
+							common[n++] = cell;
+						}
+					}
+					if(n > 0)
+					{
+						intersection = sortLike(common, n, constraintCells[i]);
+					}
+				}
+				intersections[i * numberOfConstraints + j] = intersection;
+				if(intersection.length > 0)
+				{
+					partners[numberOfPartners++] = j;
+				}
+			}
+			intersecting[i] = Arrays.copyOf(partners, numberOfPartners);
+			for(int cell : constraintCells[i])
+			{
+				inI[cell] = false;
+			}
+		}
+		
+		/* intersections as masks over the indices within a constraint */
+		intersectionMasks = new int[numberOfConstraints * numberOfConstraints];
+		for(int i = 0; i < numberOfConstraints; i++)
+		{
+			if(!hasCellMasks(i))
+			{
+				continue;
+			}
+			for(int j : intersecting[i])
+			{
+				int mask = 0;
+				for(int cell : intersections[i * numberOfConstraints + j])
+				{
+					mask |= 1 << indexInConstraint(cell, i);
+				}
+				intersectionMasks[i * numberOfConstraints + j] = mask;
+			}
+		}
+	}
+	
+	private int indexInConstraint(int cell, int constraint)
+	{
+		int[] cs = cellConstraints[cell];
+		for(int n = 0; n < cs.length; n++)
+		{
+			if(cs[n] == constraint)
+			{
+				return indicesInConstraints[cell][n];
+			}
+		}
+		return -1;
+	}
+	
+	/* returns the first n entries of cells in the order in which they appear in order */
+	private static int[] sortLike(int[] cells, int n, int[] order)
+	{
+		int[] sorted = new int[n];
+		int m = 0;
+		for(int cell : order)
+		{
+			for(int i = 0; i < n; i++)
+			{
+				if(cells[i] == cell)
+				{
+					sorted[m++] = cell;
+					break;
+				}
+			}
+		}
+		return sorted;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Felder zurück, d.h. die Feld-IDs liegen in [0, getNumberOfCells()).
+	 *
+	 * @return die Anzahl der Felder
+	 */
+	public int getNumberOfCells()
+	{
+		return positions.length;
+	}
+	
+	/**
+	 * Gibt die Anzahl der Constraints zurück, d.h. die Constraint-IDs liegen in [0, getNumberOfConstraints()).
+	 *
+	 * @return die Anzahl der Constraints
+	 */
+	public int getNumberOfConstraints()
+	{
+		return constraints.length;
+	}
+	
+	/**
+	 * Gibt die Feld-ID der spezifizierten Position zurück.
+	 *
+	 * @param p eine Position
+	 * @return die Feld-ID, bzw. -1 falls an der Position kein Feld ist
+	 */
+	public int getCellIndex(Position p)
+	{
+		int x = p.getX();
+		int y = p.getY();
+		return x < width && y < height ? cellIds[x * height + y] : -1;
+	}
+	
+	/**
+	 * @param cell die Feld-ID
+	 * @return die Position des Feldes
+	 */
+	public Position getPosition(int cell)
+	{
+		return positions[cell];
+	}
+	
+	/**
+	 * @return alle Positionen nach Feld-ID als unveränderliche Liste
+	 */
+	public List<Position> getPositions()
+	{
+		return positionList;
+	}
+	
+	/**
+	 * @param constraint die Constraint-ID
+	 * @return den Constraint
+	 */
+	public Constraint getConstraint(int constraint)
+	{
+		return constraints[constraint];
+	}
+	
+	/**
+	 * @param constraint die Constraint-ID
+	 * @return true, falls der Constraint ein UniqueConstraintBehavior hat
+	 */
+	public boolean isUnique(int constraint)
+	{
+		return unique[constraint];
+	}
+	
+	/**
+	 * @param constraint die Constraint-ID
+	 * @return die Form des Constraints, siehe {@link Utils#getGroupShape(List)}
+	 */
+	public Utils.ConstraintShape getShape(int constraint)
+	{
+		return shapes[constraint];
+	}
+	
+	/**
+	 * @param shape eine Form
+	 * @return die IDs aller Constraints dieser Form, aufsteigend
+	 */
+	public int[] getConstraintsOfShape(Utils.ConstraintShape shape)
+	{
+		return constraintsOfShape.get(shape);
+	}
+	
+	/**
+	 * @param constraint die Constraint-ID
+	 * @return die Feld-IDs in der Reihenfolge der Positionen des Constraints
+	 */
+	public int[] getCellsOfConstraint(int constraint)
+	{
+		return constraintCells[constraint];
+	}
+	
+	/**
+	 * @param cell die Feld-ID
+	 * @return die IDs der Constraints, in denen das Feld liegt, aufsteigend
+	 */
+	public int[] getConstraintsOfCell(int cell)
+	{
+		return cellConstraints[cell];
+	}
+	
+	/**
+	 * Gibt zu jedem Constraint des Feldes (in der Reihenfolge von {@link #getConstraintsOfCell(int)}) den Index des
+	 * Feldes in {@link #getCellsOfConstraint(int)} dieses Constraints zurück.
+	 *
+	 * @param cell die Feld-ID
+	 * @return die Indizes des Feldes in seinen Constraints
+	 */
+	public int[] getIndicesInConstraints(int cell)
+	{
+		return indicesInConstraints[cell];
+	}
+	
+	/**
+	 * Gibt zurück, ob sich Teilmengen der Felder des Constraints als int-Bitmaske über die Indizes in
+	 * {@link #getCellsOfConstraint(int)} darstellen lassen, d.h. ob der Constraint höchstens 32 Felder hat.
+	 *
+	 * @param constraint die Constraint-ID
+	 * @return true, falls der Constraint höchstens {@link Integer#SIZE} Felder hat
+	 */
+	public boolean hasCellMasks(int constraint)
+	{
+		return constraintCells[constraint].length <= Integer.SIZE;
+	}
+	
+	/**
+	 * @param cell die Feld-ID
+	 * @return true, falls das Feld in einem Constraint ohne UniqueConstraintBehavior liegt
+	 */
+	public boolean isInNonUniqueConstraint(int cell)
+	{
+		return inNonUniqueConstraint[cell];
+	}
+	
+	/**
+	 * Gibt die Nachbarn des spezifizierten Feldes zurück, d.h. alle anderen Felder, die mit ihm in mindestens einem
+	 * Unique-Constraint liegen und deshalb nicht denselben Wert haben dürfen.
+	 *
+	 * @param cell die Feld-ID
+	 * @return die Feld-IDs der Nachbarn, aufsteigend und ohne Duplikate
+	 */
+	public int[] getPeers(int cell)
+	{
+		return peers[cell];
+	}
+	
+	/**
+	 * Gibt die gemeinsamen Felder zweier Constraints zurück.
+	 *
+	 * @param i eine Constraint-ID
+	 * @param j eine andere Constraint-ID
+	 * @return die gemeinsamen Feld-IDs in der Reihenfolge des Constraints mit der kleineren ID, ein leeres Array falls
+	 *         die Constraints disjunkt sind oder i == j
+	 */
+	public int[] getIntersection(int i, int j)
+	{
+		return intersections[i * constraints.length + j];
+	}
+	
+	/**
+	 * Gibt die gemeinsamen Felder zweier Constraints als Bitmaske über die Indizes in
+	 * {@link #getCellsOfConstraint(int)} von i zurück. Nur definiert, falls {@link #hasCellMasks(int)} für i gilt.
+	 *
+	 * @param i eine Constraint-ID
+	 * @param j eine andere Constraint-ID
+	 * @return die Bitmaske, 0 falls die Constraints disjunkt sind oder i == j
+	 */
+	public int getIntersectionMask(int i, int j)
+	{
+		return intersectionMasks[i * constraints.length + j];
+	}
+	
+	/**
+	 * @param constraint die Constraint-ID
+	 * @return die IDs aller anderen Constraints, die mindestens ein Feld mit dem spezifizierten gemeinsam haben,
+	 *         aufsteigend
+	 */
+	public int[] getIntersectingConstraints(int constraint)
+	{
+		return intersecting[constraint];
+	}
+}
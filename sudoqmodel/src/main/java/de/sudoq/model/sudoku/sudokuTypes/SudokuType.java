@@ -10,10 +10,12 @@ package de.sudoq.model.sudoku.sudokuTypes;
 import java.io.File;
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 import de.sudoq.model.files.FileManager;
+import de.sudoq.model.solverGenerator.FastSolver.DLX1.SudokuExactCover;
 import de.sudoq.model.solverGenerator.solver.helper.Helpers;
 import de.sudoq.model.sudoku.Constraint;
 import de.sudoq.model.sudoku.ConstraintType;
@@ -78,6 +80,29 @@ public class SudokuType implements Iterable<Constraint>, ComplexityFactory, Xmla
 	
 	protected ComplexityConstraintBuilder ccb;
 	
+	/**
+	 * true, falls diese Instanz von der {@link SudokuTypeRegistry} geteilt wird und deshalb nicht mehr verändert
+	 * werden darf
+	 */
+	private volatile boolean shared;
+	
+	/**
+	 * Der Topologie-Index dieses Typs, null solange er nicht berechnet wurde oder nach einer Änderung des Typs
+	 */
+	private volatile SudokuTopology topology;
+	
+	/**
+	 * Das Exact-Cover-Layout dieses Typs, wird wie die Topologie gecacht
+	 */
+	private volatile SudokuExactCover exactCover;
+	
+	/**
+	 * Anzahl der Positionen aller Constraints, als die Caches berechnet wurden. Constraints nicht geteilter Typen
+	 * können danach noch Positionen hinzugefügt bekommen, ohne dass der Typ davon erfährt. Zählt auch die Constraints
+	 * selbst
+	 */
+	private int cachedPositions;
+	
 	public SudokuType()
 	{
 		this.constraints = new ArrayList<>();
@@ -145,11 +170,12 @@ public class SudokuType implements Iterable<Constraint>, ComplexityFactory, Xmla
 	/**
 	 * Gibt eine Liste mit zulässigen Transformationen an diesem Sudoku aus.
 	 *
-	 * @return eine Liste mit zulässigen Transformationen an diesem Sudoku
+	 * @return eine Liste mit zulässigen Transformationen an diesem Sudoku, nicht veränderbar falls der Typ geteilt
+	 *         wird
 	 */
 	public List<PermutationProperties> getPermutationProperties()
 	{
-		return setOfPermutationProperties;
+		return shared ? Collections.unmodifiableList(setOfPermutationProperties) : setOfPermutationProperties;
 	}
 	
 	/**
@@ -179,6 +205,77 @@ public class SudokuType implements Iterable<Constraint>, ComplexityFactory, Xmla
 		return true;
 	}
 	
+	/**
+	 * Überprüft nach der Änderung eines einzelnen Feldes, ob das spezifizierte Sudoku noch die Vorgaben aller
+	 * Constraints erfüllt. Es werden nur die Constraints überprüft, die die Position changed enthalten, das Sudoku
+	 * muss also vor der Änderung alle Constraints erfüllt haben.
+	 *
+	 * @param sudoku
+	 *            Das Sudoku, welches auf Erfüllung der Constraints überprüft werden soll
+	 * @param changed
+	 *            Die Position des geänderten Feldes
+	 * @return true, falls das Sudoku alle Constraints erfüllt, false falls es dies nicht tut oder null ist
+	 */
+	public boolean checkSudoku(Sudoku sudoku, Position changed)
+	{
+		if(sudoku == null)
+		{
+			return false;
+		}
+		
+		SudokuTopology t = getTopology();
+		int cell = t.getCellIndex(changed);
+		if(cell < 0)
+		{
+			return true; //no constraint contains changed
+		}
+		for(int k : t.getConstraintsOfCell(cell))
+		{
+			if(!t.getConstraint(k).isSaturated(sudoku, changed))
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Gibt den Topologie-Index dieses Typs zurück. Er wird beim ersten Aufruf berechnet und wiederverwendet, bis der
+	 * Typ verändert wird.
+	 *
+	 * @return den Topologie-Index dieses Typs
+	 */
+	public SudokuTopology getTopology()
+	{
+		validateCaches();
+		SudokuTopology t = topology;
+		if(t == null)
+		{
+			t = new SudokuTopology(this); //immutable, computing it twice in a race does no harm
+			topology = t;
+		}
+		return t;
+	}
+	
+	/**
+	 * Gibt das Exact-Cover-Layout dieses Typs zurück, das auf den Feld-IDs der Topologie aufbaut. Es wird wie die
+	 * Topologie gecacht.
+	 *
+	 * @return das Exact-Cover-Layout dieses Typs
+	 */
+	public SudokuExactCover getExactCover()
+	{
+		validateCaches();
+		SudokuExactCover c = exactCover;
+		if(c == null)
+		{
+			c = new SudokuExactCover(this); //immutable, computing it twice in a race does no harm
+			exactCover = c;
+		}
+		return c;
+	}
+	
 	/**
 	 * Gibt einen Iterator für die Constraints dieses Sudoku-Typs zurück.
 	 *
@@ -186,14 +283,14 @@ public class SudokuType implements Iterable<Constraint>, ComplexityFactory, Xmla
 	 */
 	public Iterator<Constraint> iterator()
 	{
-		return constraints.iterator();
+		return Collections.unmodifiableList(constraints).iterator();
 	}
 	
 	private class Positions implements Iterable<Position>
 	{
 		public Iterator<Position> iterator()
 		{
-			return positions.iterator();
+			return Collections.unmodifiableList(positions).iterator();
 		}
 	}
 	
@@ -277,6 +374,7 @@ public class SudokuType implements Iterable<Constraint>, ComplexityFactory, Xmla
 	 */
 	public void setTypeName(SudokuTypes type)
 	{
+		checkNotShared();
 		if(type != null)
 		{
 			this.typeName = type;
@@ -285,11 +383,13 @@ public class SudokuType implements Iterable<Constraint>, ComplexityFactory, Xmla
 	
 	public void setDimensions(Position p)
 	{
+		checkNotShared();
 		this.dimensions = p;
 	}
 	
 	public void setNumberOfSymbols(int numberOfSymbols)
 	{
+		checkNotShared();
 		if(numberOfSymbols > 0)
 		{
 			this.numberOfSymbols = numberOfSymbols;
@@ -306,28 +406,35 @@ public class SudokuType implements Iterable<Constraint>, ComplexityFactory, Xmla
 		return this.typeName;
 	}
 	
-	/**
-	 * @deprecated
-	 * Gibt eine Liste der Constraints, welche zu diesem Sudokutyp gehören zurück. Hinweis: Wenn möglich stattdessen den
-	 * Iterator benutzen.
-	 *
-	 * @return Eine Liste der Constraints dieses Sudokutyps.
-	 */
-	public ArrayList<Constraint> getConstraints()
-	{
-		return (ArrayList<Constraint>) this.constraints;
-	}
-	
 	//make a method that returns an iterator over all positions !=null. I think we need this a lot
 	public void addConstraint(Constraint c)
 	{
+		checkNotShared();
 		if(c != null)
 		{
 			this.constraints.add(c);
 		}
 	}
 	
+	/**
+	 * Gibt den Typ zu dem spezifizierten Enum zurück. Die Typdatei wird nur beim ersten Aufruf geparst, danach wird
+	 * die geteilte Instanz aus der {@link SudokuTypeRegistry} zurückgegeben, die nicht verändert werden darf.
+	 *
+	 * @param type der gewünschte Typ
+	 * @return den geteilten SudokuType, oder null falls type null ist oder nicht geladen werden kann
+	 */
 	public static SudokuType getSudokuType(SudokuTypes type)
+	{
+		return SudokuTypeRegistry.get(type);
+	}
+	
+	/**
+	 * Parst die Typdatei des spezifizierten Typs und gibt eine neue, nicht geteilte Instanz zurück.
+	 *
+	 * @param type der zu ladende Typ
+	 * @return den neu geladenen SudokuType, oder null falls type null ist oder nicht geladen werden kann
+	 */
+	static SudokuType loadSudokuType(SudokuTypes type)
 	{
 		if(type == null)
 		{
@@ -394,9 +501,65 @@ public class SudokuType implements Iterable<Constraint>, ComplexityFactory, Xmla
 		return representation;
 	}
 	
+	/**
+	 * Gibt zurück, ob diese Instanz von der {@link SudokuTypeRegistry} an mehrere Sudokus ausgegeben wird. Geteilte
+	 * Typen sind unveränderlich, alle verändernden Methoden werfen eine IllegalStateException.
+	 *
+	 * @return true, falls dieser Typ geteilt wird
+	 */
+	public boolean isShared()
+	{
+		return shared;
+	}
+	
+	/**
+	 * Sperrt diesen Typ und seine Constraints gegen Veränderungen, bevor er von der Registry geteilt wird.
+	 */
+	void markShared()
+	{
+		for(Constraint c : constraints)
+		{
+			c.lock();
+		}
+		shared = true;
+	}
+	
+	/* wird vor jeder Änderung aufgerufen, verwirft die Caches */
+	private void checkNotShared()
+	{
+		if(shared)
+		{
+			throw new IllegalStateException("shared SudokuType " + typeName + " must not be modified");
+		}
+		topology = null;
+		exactCover = null;
+	}
+	
+	/* verwirft die Caches eines nicht geteilten Typs, falls ihm seither Constraints oder seinen Constraints Positionen
+	 * hinzugefügt wurden. Beide werden nur hinzugefügt, daher genügt es, sie zu zählen */
+	private void validateCaches()
+	{
+		if(shared)
+		{
+			return;
+		}
+		int n = constraints.size();
+		for(Constraint c : constraints)
+		{
+			n += c.getSize();
+		}
+		if(n != cachedPositions)
+		{
+			topology = null;
+			exactCover = null;
+			cachedPositions = n;
+		}
+	}
+	
 	@Override
 	public void fillFromXml(XmlTree xmlTreeRepresentation) throws IllegalArgumentException
 	{
+		checkNotShared();
 		typeName = SudokuTypes.values()[Integer.parseInt(xmlTreeRepresentation.getAttributeValue("typename"))];
 		numberOfSymbols = Integer.parseInt(xmlTreeRepresentation.getAttributeValue("numberOfSymbols"));
 		standardAllocationFactor = Float.parseFloat(xmlTreeRepresentation.getAttributeValue("standardAllocationFactor"));
@@ -0,0 +1,73 @@
+/*
+ * SudoQ is a Sudoku-App for Adroid Devices with Version 2.2 at least.
+ * Copyright (C) 2012  Heiko Klare, Julian Geppert, Jan-Bernhard Kordaß, Jonathan Kieling, Tim Zeitz, Timo Abele
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation; either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+package de.sudoq.model.sudoku.sudokuTypes;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Prozessweiter Cache für SudokuTypen. Jede Typdatei wird nur einmal geparst, danach wird für den selben SudokuTypes
+ * immer die selbe Instanz herausgegeben. Die Instanzen werden von allen Sudokus, Solvern und Generatoren geteilt und
+ * sind deshalb nach dem Laden gesperrt (siehe {@link SudokuType#isShared()}).
+ *
+ * Alle Methoden sind threadsicher. Wird der Sudoku-Ordner im FileManager geändert, so wird der Cache verworfen.
+ */
+public final class SudokuTypeRegistry
+{
+	private static final Map<SudokuTypes, SudokuType> types = new EnumMap<>(SudokuTypes.class);
+
+	private SudokuTypeRegistry()
+	{
+	}
+
+	/**
+	 * Gibt die geteilte Instanz des spezifizierten Typs zurück und lädt sie beim ersten Zugriff aus der Typdatei.
+	 *
+	 * @param type
+	 *            der gewünschte Typ
+	 * @return die geteilte Instanz, oder null falls type null ist oder die Typdatei nicht gelesen werden konnte
+	 */
+	public static synchronized SudokuType get(SudokuTypes type)
+	{
+		if(type == null)
+		{
+			return null;
+		}
+		SudokuType t = types.get(type);
+		if(t == null)
+		{
+			t = SudokuType.loadSudokuType(type);
+			if(t != null)
+			{
+				t.markShared();
+				types.put(type, t);
+			}
+		}
+		return t;
+	}
+
+	/**
+	 * Lädt alle verfügbaren Typen vorab, sodass später kein Zugriff mehr auf das Dateisystem nötig ist.
+	 */
+	public static synchronized void preloadAll()
+	{
+		for(SudokuTypes type : SudokuTypes.values())
+		{
+			get(type);
+		}
+	}
+
+	/**
+	 * Verwirft alle geladenen Typen. Bereits herausgegebene Instanzen bleiben gültig, werden aber nicht mehr
+	 * herausgegeben.
+	 */
+	public static synchronized void invalidate()
+	{
+		types.clear();
+	}
+}
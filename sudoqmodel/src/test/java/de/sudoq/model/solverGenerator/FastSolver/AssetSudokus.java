@@ -0,0 +1,104 @@
+package de.sudoq.model.solverGenerator.FastSolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.sudoq.model.files.FileManager;
+import de.sudoq.model.sudoku.Position;
+import de.sudoq.model.sudoku.PositionMap;
+import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.SudokuManager;
+import de.sudoq.model.sudoku.complexity.Complexity;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuType;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTypes;
+import de.sudoq.model.xml.XmlHelper;
+
+/**
+ * Loads the sudokus bundled with the app, which the solver tests are checked against.
+ */
+public final class AssetSudokus
+{
+	/* relative to the module directory, the working directory of the tests */
+	static final File SUDOKUS = new File("../sudoqapp/src/main/assets/sudokus");
+	
+	private AssetSudokus()
+	{
+	}
+	
+	/**
+	 * Points the FileManager to the bundled sudokus and type files and to an empty profile directory.
+	 */
+	public static void initialize() throws IOException
+	{
+		File profiles = Files.createTempDirectory("profiles").toFile();
+		profiles.deleteOnExit();
+		FileManager.initialize(profiles, SUDOKUS);
+	}
+	
+	/**
+	 * @return the first n sudokus of the type and complexity, fewer if there are less
+	 */
+	public static List<Sudoku> load(SudokuTypes type, Complexity complexity, int n) throws IOException
+	{
+		List<Sudoku> sudokus = new ArrayList<>();
+		String[] files = new File(SUDOKUS, type + File.separator + complexity).list();
+		if(files == null)
+		{
+			return sudokus;
+		}
+		Arrays.sort(files);
+		for(int i = 0; i < files.length && sudokus.size() < n; i++)
+		{
+			Sudoku s = SudokuManager.getEmptySudokuToFillWithXml();
+			s.fillFromXml(new XmlHelper().loadXml(new File(SUDOKUS, type + File.separator + complexity + File.separator + files[i])));
+			s.setComplexity(complexity);
+			sudokus.add(s);
+		}
+		return sudokus;
+	}
+	
+	/**
+	 * @return a sudoku of the type whose cells are all empty and editable
+	 */
+	static Sudoku empty(SudokuTypes type)
+	{
+		return new Sudoku(SudokuType.getSudokuType(type));
+	}
+	
+	/**
+	 * @return a copy of the sudoku with only the first n of its givens, by position order of the type
+	 */
+	static Sudoku withGivens(Sudoku s, int n)
+	{
+		Sudoku copy = new Sudoku(s.getSudokuType());
+		int given = 0;
+		for(Position p : s.getSudokuType().getValidPositions())
+		{
+			if(given < n && s.getCell(p).isSolved())
+			{
+				copy.getCell(p).setCurrentValue(s.getCell(p).getCurrentValue(), false);
+				given++;
+			}
+		}
+		return copy;
+	}
+	
+	/**
+	 * @return true if both maps hold the same value for every position of the type
+	 */
+	static boolean sameSolution(SudokuType type, PositionMap<Integer> a, PositionMap<Integer> b)
+	{
+		for(Position p : type.getValidPositions())
+		{
+			if(!a.get(p).equals(b.get(p)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,44 @@
+package de.sudoq.model.solverGenerator.FastSolver.BranchAndBound;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.sudoq.model.solverGenerator.FastSolver.AssetSudokus;
+import de.sudoq.model.solverGenerator.solver.helper.SolveHelper;
+import de.sudoq.model.solvingAssistant.HintTypes;
+import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuType;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTypes;
+
+public class FastBranchAndBoundTest
+{
+	@BeforeClass
+	public static void initialize() throws IOException
+	{
+		AssetSudokus.initialize();
+	}
+	
+	/* the helpers of Solver without LockedCandidates, the fish including XWing stay */
+	@Test
+	public void helperListKeepsAllFish()
+	{
+		FastBranchAndBound solver = new FastBranchAndBound(new Sudoku(SudokuType.getSudokuType(SudokuTypes.standard9x9)));
+		List<HintTypes> types = new ArrayList<>();
+		for(SolveHelper h : solver.makeHelperList())
+		{
+			types.add(h.getHintType());
+		}
+		assertEquals(Arrays.asList(HintTypes.LastDigit, HintTypes.LeftoverNote, HintTypes.HiddenSingle,
+		                           HintTypes.NakedPair, HintTypes.HiddenPair, HintTypes.NakedTriple,
+		                           HintTypes.HiddenTriple, HintTypes.NakedQuadruple, HintTypes.HiddenQuadruple,
+		                           HintTypes.XWing, HintTypes.Swordfish, HintTypes.Jellyfish, HintTypes.Backtracking),
+		             types);
+	}
+}
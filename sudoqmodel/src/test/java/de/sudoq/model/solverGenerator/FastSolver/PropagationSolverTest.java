@@ -0,0 +1,69 @@
+package de.sudoq.model.solverGenerator.FastSolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.sudoq.model.solverGenerator.FastSolver.DLX1.ArrayDLXSolver;
+import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.complexity.Complexity;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTypes;
+
+/**
+ * Checks the {@link PropagationSolver} against the {@link ArrayDLXSolver} on the bundled sudokus.
+ */
+public class PropagationSolverTest
+{
+	private static final int SUDOKUS_PER_COMPLEXITY = 3;
+	
+	@BeforeClass
+	public static void initialize() throws IOException
+	{
+		AssetSudokus.initialize();
+	}
+	
+	@Test
+	public void solvesBundledSudokusLikeDLX() throws IOException
+	{
+		int checked = 0;
+		for(SudokuTypes type : SudokuTypes.values())
+		{
+			for(Complexity complexity : new Complexity[]{Complexity.easy, Complexity.infernal})
+			{
+				for(Sudoku s : AssetSudokus.load(type, complexity, SUDOKUS_PER_COMPLEXITY))
+				{
+					String name = type + " " + complexity + " " + checked;
+					FastSolver propagation = new PropagationSolver(s);
+					FastSolver dlx = new ArrayDLXSolver(s);
+					assertTrue(name, dlx.hasSolution());
+					assertTrue(name, propagation.hasSolution());
+					assertFalse(name, dlx.isAmbiguous());
+					assertFalse(name, propagation.isAmbiguous());
+					assertTrue(name, AssetSudokus.sameSolution(s.getSudokuType(), dlx.getSolutions(), propagation.getSolutions()));
+					checked++;
+				}
+			}
+		}
+		assertTrue(checked > 0);
+	}
+	
+	@Test
+	public void findsAmbiguityLikeDLX() throws IOException
+	{
+		for(Sudoku s : AssetSudokus.load(SudokuTypes.standard9x9, Complexity.easy, SUDOKUS_PER_COMPLEXITY))
+		{
+			//a 9x9 sudoku with less than 17 givens is never unique
+			Sudoku ambiguous = AssetSudokus.withGivens(s, 12);
+			FastSolver propagation = new PropagationSolver(ambiguous);
+			FastSolver dlx = new ArrayDLXSolver(ambiguous);
+			assertTrue(dlx.isAmbiguous());
+			assertTrue(propagation.isAmbiguous());
+			assertEquals(AmbiguityResult.AMBIGUOUS, propagation.checkAmbiguity(SearchBudget.UNLIMITED));
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package de.sudoq.model.solverGenerator.FastSolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.sudoq.model.solverGenerator.FastSolver.DLX1.ArrayDLXSolver;
+import de.sudoq.model.solverGenerator.FastSolver.DLX1.IncrementalDLXSolver;
+import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.complexity.Complexity;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTypes;
+
+/**
+ * Checks {@link FastSolver#countSolutions(int)} and {@link FastSolver#enumerateSolutions(int, SolutionCallback)} of
+ * the solvers that support them.
+ */
+public class SolutionCountTest
+{
+	/* number of different 4x4 grids */
+	private static final int GRIDS_4X4 = 288;
+	
+	@BeforeClass
+	public static void initialize() throws IOException
+	{
+		AssetSudokus.initialize();
+	}
+	
+	private static FastSolver[] solvers(Sudoku s)
+	{
+		return new FastSolver[]{new ArrayDLXSolver(s), new IncrementalDLXSolver(s), new PropagationSolver(s)};
+	}
+	
+	@Test
+	public void countsAll4x4Grids()
+	{
+		for(FastSolver solver : solvers(AssetSudokus.empty(SudokuTypes.standard4x4)))
+		{
+			assertEquals(solver.getClass().getSimpleName(), GRIDS_4X4, solver.countSolutions(1000));
+		}
+	}
+	
+	@Test
+	public void enumeratesDistinct4x4Grids()
+	{
+		for(FastSolver solver : solvers(AssetSudokus.empty(SudokuTypes.standard4x4)))
+		{
+			final Set<String> grids = new HashSet<>();
+			int n = solver.enumerateSolutions(1000, new SolutionCallback()
+			{
+				@Override
+				public boolean solutionFound(int[] solution)
+				{
+					grids.add(Arrays.toString(solution));
+					return true;
+				}
+			});
+			assertEquals(solver.getClass().getSimpleName(), GRIDS_4X4, n);
+			assertEquals(solver.getClass().getSimpleName(), GRIDS_4X4, grids.size());
+		}
+	}
+	
+	@Test
+	public void stopsAtLimit() throws IOException
+	{
+		List<Sudoku> sudokus = AssetSudokus.load(SudokuTypes.standard9x9, Complexity.easy, 1);
+		assertTrue(!sudokus.isEmpty());
+		//a 9x9 sudoku with less than 17 givens is never unique
+		Sudoku ambiguous = AssetSudokus.withGivens(sudokus.get(0), 12);
+		for(FastSolver solver : solvers(ambiguous))
+		{
+			String name = solver.getClass().getSimpleName();
+			assertEquals(name, 2, solver.countSolutions(2));
+			
+			final int[] calls = new int[1];
+			int n = solver.enumerateSolutions(2, new SolutionCallback()
+			{
+				@Override
+				public boolean solutionFound(int[] solution)
+				{
+					calls[0]++;
+					return true;
+				}
+			});
+			assertEquals(name, 2, n);
+			assertEquals(name, 2, calls[0]);
+		}
+	}
+	
+	@Test
+	public void stopsWhenCallbackDeclines()
+	{
+		for(FastSolver solver : solvers(AssetSudokus.empty(SudokuTypes.standard4x4)))
+		{
+			int n = solver.enumerateSolutions(1000, new SolutionCallback()
+			{
+				@Override
+				public boolean solutionFound(int[] solution)
+				{
+					return false;
+				}
+			});
+			assertEquals(solver.getClass().getSimpleName(), 1, n);
+		}
+	}
+	
+	@Test
+	public void countsUniqueSudokusOnce() throws IOException
+	{
+		for(Sudoku s : AssetSudokus.load(SudokuTypes.standard9x9, Complexity.infernal, 3))
+		{
+			for(FastSolver solver : solvers(s))
+			{
+				assertEquals(solver.getClass().getSimpleName(), 1, solver.countSolutions(2));
+			}
+		}
+	}
+}
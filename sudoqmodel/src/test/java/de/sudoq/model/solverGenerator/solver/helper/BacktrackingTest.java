@@ -0,0 +1,82 @@
+package de.sudoq.model.solverGenerator.solver.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.sudoq.model.solverGenerator.FastSolver.AssetSudokus;
+import de.sudoq.model.solverGenerator.solver.SolverSudoku;
+import de.sudoq.model.sudoku.Sudoku;
+import de.sudoq.model.sudoku.complexity.Complexity;
+import de.sudoq.model.sudoku.sudokuTypes.SudokuTypes;
+
+public class BacktrackingTest
+{
+	@BeforeClass
+	public static void initialize() throws IOException
+	{
+		AssetSudokus.initialize();
+	}
+	
+	@Test
+	public void picksFewestCandidatesThenMostUnsolvedPeers() throws IOException
+	{
+		int differing = 0; //sudokus where the tie-break picks another cell than the smallest id
+		for(SudokuTypes type : new SudokuTypes[]{SudokuTypes.standard9x9, SudokuTypes.standard16x16, SudokuTypes.samurai})
+		{
+			for(Sudoku s : AssetSudokus.load(type, Complexity.infernal, 5))
+			{
+				SolverSudoku lowestId = new SolverSudoku(s);
+				int first = lowestId.getCellWithFewestCandidates();
+				assertTrue(new Backtracking(lowestId, 0).update(false));
+				assertEquals(lowestId.getPosition(first), lowestId.getFirstBranchPosition());
+				
+				SolverSudoku degree = new SolverSudoku(s);
+				int expected = getMostConstrainedCell(degree);
+				assertTrue(new Backtracking(degree, 0, true).update(false));
+				assertEquals(degree.getPosition(expected), degree.getFirstBranchPosition());
+				
+				if(expected != first)
+				{
+					differing++;
+				}
+			}
+		}
+		assertTrue(differing > 0);
+	}
+	
+	/* the cell with the fewest candidates (at least two) and among those the most unsolved peers, by a full scan */
+	private static int getMostConstrainedCell(SolverSudoku sudoku)
+	{
+		int best = -1;
+		int bestCount = Integer.MAX_VALUE;
+		int bestDegree = -1;
+		for(int cell = 0; cell < sudoku.getNumberOfCells(); cell++)
+		{
+			int count = Integer.bitCount(sudoku.getCandidateMask(cell));
+			if(count < 2 || count > bestCount)
+			{
+				continue;
+			}
+			int degree = 0;
+			for(int peer : sudoku.getTopology().getPeers(cell))
+			{
+				if(sudoku.getCellById(peer).isNotSolved())
+				{
+					degree++;
+				}
+			}
+			if(count < bestCount || degree > bestDegree)
+			{
+				best = cell;
+				bestCount = count;
+				bestDegree = degree;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,91 @@
+package de.sudoq.model.sudoku.sudokuTypes;
+
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.sudoq.model.solverGenerator.FastSolver.AssetSudokus;
+import de.sudoq.model.sudoku.Constraint;
+import de.sudoq.model.sudoku.Position;
+
+/**
+ * Checks that the types shared by the registry can't be changed through the objects they hand out.
+ */
+public class SudokuTypeTest
+{
+	@BeforeClass
+	public static void initialize() throws IOException
+	{
+		AssetSudokus.initialize();
+	}
+	
+	@Test
+	public void sharedConstraintsAreLocked()
+	{
+		for(SudokuTypes t : SudokuTypes.values())
+		{
+			for(Constraint c : SudokuType.getSudokuType(t))
+			{
+				try
+				{
+					c.addPosition(Position.get(0, 0));
+					fail(t + ": addPosition");
+				}
+				catch(IllegalStateException e)
+				{
+					//expected
+				}
+				try
+				{
+					c.getPositions().clear();
+					fail(t + ": getPositions");
+				}
+				catch(UnsupportedOperationException e)
+				{
+					//expected
+				}
+				try
+				{
+					Iterator<Position> i = c.iterator();
+					i.next();
+					i.remove();
+					fail(t + ": iterator");
+				}
+				catch(UnsupportedOperationException e)
+				{
+					//expected
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void sharedTypeIsReadOnly()
+	{
+		SudokuType type = SudokuType.getSudokuType(SudokuTypes.standard9x9);
+		try
+		{
+			type.getPermutationProperties().clear();
+			fail("getPermutationProperties");
+		}
+		catch(UnsupportedOperationException e)
+		{
+			//expected
+		}
+		try
+		{
+			Iterator<Constraint> i = type.iterator();
+			i.next();
+			i.remove();
+			fail("iterator");
+		}
+		catch(UnsupportedOperationException e)
+		{
+			//expected
+		}
+	}
+}